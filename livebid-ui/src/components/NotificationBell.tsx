@@ -4,7 +4,7 @@ import { useState, useRef, useEffect } from 'react';
 import { useRouter } from 'next/navigation';
 import { useUser } from '@/context/UserContext';
 import { api } from '@/lib/api';
-import { Notification } from '@/lib/types';
+import { Notification, NotificationPage } from '@/lib/types';
 import { Bell, Check, Gavel, DollarSign, AlertCircle, ShoppingBag } from 'lucide-react';
 import Link from 'next/link';
 
@@ -40,8 +40,8 @@ export default function NotificationBell() {
         if (!user) return;
         setLoading(true);
         try {
-            const res = await api.get<Notification[]>(`/users/${user.id}/notifications`);
-            setNotifications(res.data.slice(0, 10)); // Show latest 10
+            const res = await api.get<NotificationPage>(`/users/${user.id}/notifications`, { params: { limit: 10 } });
+            setNotifications(res.data.notifications);
         } catch (err) {
             console.error('Failed to fetch notifications:', err);
         } finally {
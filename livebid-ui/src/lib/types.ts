@@ -59,3 +59,8 @@ export interface Notification {
     read: boolean;
     createdAt: string;
 }
+
+export interface NotificationPage {
+    notifications: Notification[];
+    nextCursor: string | null;
+}
@@ -0,0 +1,125 @@
+"""
+Bid load generator: throughput and latency of POST /auctions/{id}/bids.
+
+Run it against the server twice, once with VIRTUAL_THREADS=false and once with
+VIRTUAL_THREADS=true, using the same flags, and compare the summaries:
+
+    python loadtest.py --token "$JWT" --concurrency 400 --duration 60
+
+Bids go to a handful of LIVE auctions with steadily rising amounts, so most
+requests contend on the same auction rows. Rejections (too low, outbid) are
+expected and counted separately; latency covers every response.
+"""
+import argparse
+import itertools
+import random
+import threading
+import time
+import uuid
+from concurrent.futures import ThreadPoolExecutor
+from datetime import datetime, timedelta
+
+import requests
+
+
+def parse_args():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--base-url", default="http://localhost:8080")
+    parser.add_argument("--token", help="Bearer token for authenticated POST /auctions/**")
+    parser.add_argument("--concurrency", type=int, default=200)
+    parser.add_argument("--duration", type=int, default=30, help="seconds of load after warm-up")
+    parser.add_argument("--warmup", type=int, default=5, help="seconds of load excluded from results")
+    parser.add_argument("--auctions", type=int, default=20)
+    parser.add_argument("--bidders", type=int, default=200)
+    return parser.parse_args()
+
+
+def percentile(sorted_values, pct):
+    if not sorted_values:
+        return 0.0
+    index = min(len(sorted_values) - 1, int(round(pct / 100.0 * (len(sorted_values) - 1))))
+    return sorted_values[index]
+
+
+class Setup:
+    def __init__(self, args):
+        self.base = args.base_url
+        self.session = requests.Session()
+        if args.token:
+            self.session.headers["Authorization"] = f"Bearer {args.token}"
+
+    def user(self):
+        res = self.session.post(f"{self.base}/users", json={"email": f"load-{uuid.uuid4().hex[:12]}@example.com"})
+        res.raise_for_status()
+        return res.json()["id"]
+
+    def live_auction(self, seller_id):
+        now = datetime.utcnow()
+        res = self.session.post(f"{self.base}/auctions", json={
+            "sellerId": seller_id,
+            "title": "Load test auction",
+            "description": "Created by loadtest.py",
+            "startPrice": 1000,
+            "startTime": (now + timedelta(minutes=1)).strftime('%Y-%m-%dT%H:%M:%S'),
+            "endTime": (now + timedelta(hours=1)).strftime('%Y-%m-%dT%H:%M:%S'),
+        })
+        res.raise_for_status()
+        auction_id = res.json()["id"]
+        self.session.post(f"{self.base}/auctions/{auction_id}/start").raise_for_status()
+        return auction_id
+
+
+def main():
+    args = parse_args()
+    setup = Setup(args)
+    print(f"Creating {args.bidders} bidders and {args.auctions} live auctions...")
+    seller = setup.user()
+    bidders = [setup.user() for _ in range(args.bidders)]
+    auctions = [setup.live_auction(seller) for _ in range(args.auctions)]
+    # Rising amounts per auction; next() on itertools.count is atomic under the GIL
+    amounts = {a: itertools.count(1100, 100) for a in auctions}
+
+    lock = threading.Lock()
+    latencies = []
+    counts = {"accepted": 0, "rejected": 0, "errors": 0}
+    local = threading.local()
+    started = time.monotonic()
+    measure_from = started + args.warmup
+    stop_at = measure_from + args.duration
+
+    def worker():
+        if not hasattr(local, "session"):
+            local.session = requests.Session()
+            if args.token:
+                local.session.headers["Authorization"] = f"Bearer {args.token}"
+        while time.monotonic() < stop_at:
+            auction_id = random.choice(auctions)
+            payload = {"bidderId": random.choice(bidders), "amount": next(amounts[auction_id])}
+            begin = time.monotonic()
+            try:
+                res = local.session.post(f"{args.base_url}/auctions/{auction_id}/bids", json=payload)
+                outcome = "accepted" if res.status_code == 202 else "rejected" if res.status_code < 500 else "errors"
+            except requests.RequestException:
+                outcome = "errors"
+            end = time.monotonic()
+            if begin >= measure_from:
+                with lock:
+                    latencies.append(end - begin)
+                    counts[outcome] += 1
+
+    print(f"Running {args.concurrency} clients for {args.warmup}s warm-up + {args.duration}s...")
+    with ThreadPoolExecutor(max_workers=args.concurrency) as pool:
+        for _ in range(args.concurrency):
+            pool.submit(worker)
+
+    latencies.sort()
+    total = len(latencies)
+    print(f"requests:   {total} ({counts['accepted']} accepted, {counts['rejected']} rejected, "
+          f"{counts['errors']} errors)")
+    print(f"throughput: {total / args.duration:.1f} req/s")
+    print(f"latency:    p50 {percentile(latencies, 50) * 1000:.1f} ms, "
+          f"p99 {percentile(latencies, 99) * 1000:.1f} ms, max {(latencies[-1] if latencies else 0) * 1000:.1f} ms")
+
+
+if __name__ == "__main__":
+    main()
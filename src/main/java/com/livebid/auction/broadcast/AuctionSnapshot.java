@@ -0,0 +1,19 @@
+package com.livebid.auction.broadcast;
+
+import com.livebid.auction.model.AuctionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Current state of an auction topic as of {@code seq}. A client that receives a
+ * snapshot replaces its local state and continues from {@code seq}.
+ */
+public record AuctionSnapshot(
+        UUID auctionId,
+        long seq,
+        AuctionStatus status,
+        long currentPrice,
+        UUID currentLeaderId,
+        LocalDateTime endTime) {
+}
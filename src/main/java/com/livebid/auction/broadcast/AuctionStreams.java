@@ -0,0 +1,304 @@
+package com.livebid.auction.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events for read-only auction watchers ({@code GET /auctions/{id}/stream}).
+ * Each tick is serialized once into an SSE frame shared by every watcher of the
+ * auction. Event ids are the topic {@code seq}, so a browser reconnecting with
+ * {@code Last-Event-ID} resumes through {@link AuctionTopicReplay}.
+ *
+ * <p>Every watcher writes from its own queue on a virtual thread, so a slow
+ * connection never delays the others or the conflator. A watcher keeps at most
+ * {@code livebid.sse.max-pending} live frames; older ones are dropped, since a
+ * newer price supersedes them and the seq gap tells the client.
+ */
+@Component
+public class AuctionStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionStreams.class);
+    private static final MediaType UTF8_TEXT = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    private static final Frame HEARTBEAT = new Frame(-1, SseEmitter.event().comment("").build(), false);
+
+    private final AuctionTopicReplay replay;
+    private final TopicPublisher topicPublisher;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxPending;
+    private final Map<UUID, List<Watcher>> watchers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-writer-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+
+    public AuctionStreams(AuctionTopicReplay replay, TopicPublisher topicPublisher, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${livebid.sse.timeout-ms:1800000}") long timeoutMs,
+            @Value("${livebid.sse.max-pending:16}") int maxPending,
+            @Value("${livebid.sse.heartbeat-ms:15000}") long heartbeatMs) {
+        this.replay = replay;
+        this.topicPublisher = topicPublisher;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxPending = maxPending;
+        Gauge.builder("livebid.sse.connections", connections, AtomicInteger::get)
+                .description("Open auction SSE streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("livebid.sse.frames.dropped")
+                .description("Frames dropped for SSE watchers that fell behind")
+                .register(meterRegistry);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PostConstruct
+    void listenForRelayedFrames() {
+        topicPublisher.onRelayed("/topic/auctions/", this::relayed);
+    }
+
+    /**
+     * Opens a stream. The first frames are the ticks after {@code lastEventId}, or a
+     * snapshot when there is none or it is too old; live frames follow in order.
+     */
+    public SseEmitter open(UUID auctionId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Watcher watcher = new Watcher(auctionId, emitter);
+        emitter.onCompletion(() -> remove(watcher));
+        emitter.onTimeout(() -> remove(watcher));
+        emitter.onError(e -> remove(watcher));
+        connections.incrementAndGet();
+        // Registered before reading the resume so nothing published meanwhile is missed;
+        // prime drops the live frames the resume already covers
+        watchers.computeIfAbsent(auctionId, id -> new CopyOnWriteArrayList<>()).add(watcher);
+
+        TopicReplay resume;
+        try {
+            resume = replay.replay(auctionId, lastEventId);
+        } catch (RuntimeException e) {
+            remove(watcher);
+            throw e;
+        }
+        List<Frame> first = new ArrayList<>();
+        long resumedTo;
+        if (resume.snapshot() != null) {
+            AuctionSnapshot snapshot = resume.snapshot();
+            first.add(frame(snapshot.seq(), "snapshot", snapshot, snapshot.status() == AuctionStatus.CLOSED));
+            resumedTo = snapshot.seq();
+        } else {
+            resume.ticks().forEach(tick -> first.add(frame(tick.seq(), "price", tick, false)));
+            resumedTo = resume.ticks().isEmpty() ? lastEventId : resume.ticks().get(resume.ticks().size() - 1).seq();
+        }
+        watcher.prime(first, resumedTo);
+        return emitter;
+    }
+
+    public void publish(PriceTick tick) {
+        List<Watcher> auctionWatchers = watchers.get(tick.auctionId());
+        if (auctionWatchers == null || auctionWatchers.isEmpty()) {
+            return;
+        }
+        Frame frame = frame(tick.seq(), "price", tick, false);
+        auctionWatchers.forEach(watcher -> watcher.offer(frame));
+    }
+
+    /**
+     * Sends the close event and ends every stream of the auction.
+     */
+    public void closed(AuctionClosedEvent event) {
+        List<Watcher> auctionWatchers = watchers.get(event.getAuctionId());
+        if (auctionWatchers == null || auctionWatchers.isEmpty()) {
+            return;
+        }
+        Frame frame = frame(-1, "closed", event, true);
+        auctionWatchers.forEach(watcher -> watcher.offer(frame));
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    private void relayed(String destination, JsonNode payload) {
+        try {
+            if (payload.has("seq")) {
+                publish(objectMapper.treeToValue(payload, PriceTick.class));
+            } else if (payload.has("closingPrice")) {
+                closed(objectMapper.treeToValue(payload, AuctionClosedEvent.class));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable relayed frame for {}: {}", destination, e.getMessage());
+        }
+    }
+
+    // Keeps idle streams from being cut by proxies and finds dead connections
+    private void heartbeat() {
+        watchers.values().forEach(list -> list.forEach(watcher -> watcher.offer(HEARTBEAT)));
+    }
+
+    private Frame frame(long seq, String name, Object payload, boolean last) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + name + " event", e);
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(json, UTF8_TEXT);
+        if (seq >= 0) {
+            event.id(Long.toString(seq));
+        }
+        return new Frame(seq, event.build(), last);
+    }
+
+    private void remove(Watcher watcher) {
+        if (watcher.close()) {
+            connections.decrementAndGet();
+            watchers.computeIfPresent(watcher.auctionId, (id, list) -> {
+                list.remove(watcher);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdown();
+        watchers.values().forEach(list -> list.forEach(watcher -> watcher.emitter.complete()));
+        writers.shutdown();
+    }
+
+    private record Frame(long seq, Set<DataWithMediaType> data, boolean last) {
+    }
+
+    private final class Watcher {
+        final UUID auctionId;
+        final SseEmitter emitter;
+        final ReentrantLock lock = new ReentrantLock();
+        final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        boolean primed;
+        boolean draining;
+        boolean closed;
+
+        Watcher(UUID auctionId, SseEmitter emitter) {
+            this.auctionId = auctionId;
+            this.emitter = emitter;
+        }
+
+        void prime(List<Frame> first, long resumedTo) {
+            lock.lock();
+            try {
+                ArrayDeque<Frame> live = new ArrayDeque<>(queue);
+                queue.clear();
+                queue.addAll(first);
+                live.stream().filter(frame -> frame.seq < 0 || frame.seq > resumedTo).forEach(queue::add);
+                primed = true;
+                scheduleDrain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void offer(Frame frame) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                queue.add(frame);
+                if (primed && queue.size() > maxPending) {
+                    queue.poll();
+                    dropped.increment();
+                }
+                if (primed) {
+                    scheduleDrain();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Caller holds the lock
+        private void scheduleDrain() {
+            if (!draining && !queue.isEmpty()) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Frame frame;
+                lock.lock();
+                try {
+                    frame = queue.poll();
+                    if (frame == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(frame.data);
+                    if (frame.last) {
+                        emitter.complete();
+                        remove(this);
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the container reports it through onError/onCompletion too
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        // True only for the first caller, so the connection count stays exact
+        boolean close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                queue.clear();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.livebid.auction.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recent price ticks and current state per auction topic, so subscribers that
+ * reconnect resume from memory instead of calling {@code GET /auctions/{id}}.
+ * A client presents the last {@code seq} it saw and gets the ticks it missed,
+ * or a snapshot when the gap is older than the last
+ * {@code livebid.broadcast.replay.ring-size} ticks. The database is read at most
+ * once per auction per node, the first time its topic is touched here.
+ *
+ * <p>Sequences come from this node's {@link PriceTickConflator}. In cluster mode
+ * a client may reconnect to another node with a different sequence space, so
+ * resumes there always get a snapshot; relayed ticks and close frames keep the
+ * snapshot current.
+ */
+@Component
+public class AuctionTopicReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionTopicReplay.class);
+
+    private final AuctionRepository auctionRepository;
+    private final TopicPublisher topicPublisher;
+    private final ObjectMapper objectMapper;
+    private final int ringSize;
+    private final Cache<UUID, Topic> topics;
+    private final Counter deltas;
+    private final Counter snapshots;
+
+    public AuctionTopicReplay(AuctionRepository auctionRepository, TopicPublisher topicPublisher,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${livebid.broadcast.replay.ring-size:128}") int ringSize,
+            @Value("${livebid.broadcast.replay.max-auctions:10000}") long maxAuctions) {
+        this.auctionRepository = auctionRepository;
+        this.topicPublisher = topicPublisher;
+        this.objectMapper = objectMapper;
+        this.ringSize = ringSize;
+        this.topics = Caffeine.newBuilder()
+                .maximumSize(maxAuctions)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.deltas = Counter.builder("livebid.broadcast.replay")
+                .tag("result", "delta")
+                .description("Resume requests answered with missed ticks")
+                .register(meterRegistry);
+        this.snapshots = Counter.builder("livebid.broadcast.replay")
+                .tag("result", "snapshot")
+                .description("Resume requests answered with a snapshot")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void listenForRelayedFrames() {
+        topicPublisher.onRelayed("/topic/auctions/", this::relayed);
+    }
+
+    /**
+     * Answers a resume from {@code lastSeq}; null means the client has no state yet.
+     */
+    public TopicReplay replay(UUID auctionId, Long lastSeq) {
+        Topic topic = loaded(auctionId);
+        topic.lock.lock();
+        try {
+            if (lastSeq != null && !topicPublisher.isClustered() && topic.status == AuctionStatus.LIVE
+                    && lastSeq >= topic.floor && lastSeq <= topic.seq) {
+                deltas.increment();
+                return new TopicReplay(auctionId,
+                        topic.ticks.stream().filter(tick -> tick.seq() > lastSeq).toList(), null);
+            }
+            snapshots.increment();
+            return new TopicReplay(auctionId, List.of(), topic.snapshot(auctionId));
+        } finally {
+            topic.lock.unlock();
+        }
+    }
+
+    public AuctionSnapshot snapshot(UUID auctionId) {
+        return replay(auctionId, null).snapshot();
+    }
+
+    /**
+     * Records a tick as it is broadcast by this node.
+     */
+    public void record(PriceTick tick) {
+        Topic topic = topic(tick.auctionId());
+        topic.lock.lock();
+        try {
+            if (tick.seq() <= topic.seq) {
+                // Sends are not serialized per auction; an older tick lost the race
+                return;
+            }
+            if (topic.floor == Long.MAX_VALUE) {
+                // Ticks before the first one seen here are unknown
+                topic.floor = tick.seq() - 1;
+            }
+            topic.ticks.addLast(tick);
+            if (topic.ticks.size() > ringSize) {
+                topic.floor = topic.ticks.removeFirst().seq();
+            }
+            topic.seq = tick.seq();
+            topic.advance(tick.newPrice(), tick.newLeaderId());
+        } finally {
+            topic.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        Topic topic = topic(event.getAuctionId());
+        topic.lock.lock();
+        try {
+            topic.status = AuctionStatus.LIVE;
+            topic.endTime = event.getEndTime();
+            topic.advance(event.getCurrentPrice(), null);
+        } finally {
+            topic.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionClosed(AuctionClosedEvent event) {
+        closed(event);
+    }
+
+    private void closed(AuctionClosedEvent event) {
+        Topic topic = topic(event.getAuctionId());
+        topic.lock.lock();
+        try {
+            topic.status = AuctionStatus.CLOSED;
+            topic.price = event.getClosingPrice();
+            topic.leaderId = event.getWinnerId();
+            topic.ticks.clear();
+        } finally {
+            topic.lock.unlock();
+        }
+    }
+
+    // Ticks and close frames broadcast by other nodes; only the snapshot uses them
+    private void relayed(String destination, JsonNode payload) {
+        try {
+            if (payload.has("seq")) {
+                PriceTick tick = objectMapper.treeToValue(payload, PriceTick.class);
+                Topic topic = topic(tick.auctionId());
+                topic.lock.lock();
+                try {
+                    topic.advance(tick.newPrice(), tick.newLeaderId());
+                } finally {
+                    topic.lock.unlock();
+                }
+            } else if (payload.has("closingPrice")) {
+                closed(objectMapper.treeToValue(payload, AuctionClosedEvent.class));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable relayed frame for {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private Topic topic(UUID auctionId) {
+        return topics.get(auctionId, id -> new Topic());
+    }
+
+    // One database read per topic; concurrent resumes for the same auction wait for it
+    private Topic loaded(UUID auctionId) {
+        Topic topic = topic(auctionId);
+        if (topic.loaded) {
+            return topic;
+        }
+        topic.loadLock.lock();
+        try {
+            if (!topic.loaded) {
+                Auction auction = auctionRepository.findById(auctionId)
+                        .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
+                topic.lock.lock();
+                try {
+                    // Events recorded while loading are newer than the row
+                    if (topic.status == null) {
+                        topic.status = auction.getStatus();
+                    }
+                    if (topic.endTime == null) {
+                        topic.endTime = auction.getEndTime();
+                    }
+                    if (topic.status != AuctionStatus.CLOSED) {
+                        topic.advance(auction.getCurrentPrice(), auction.getCurrentLeaderId());
+                    }
+                    topic.loaded = true;
+                } finally {
+                    topic.lock.unlock();
+                }
+            }
+            return topic;
+        } finally {
+            topic.loadLock.unlock();
+        }
+    }
+
+    private static final class Topic {
+        final ReentrantLock lock = new ReentrantLock();
+        final ReentrantLock loadLock = new ReentrantLock();
+        final ArrayDeque<PriceTick> ticks = new ArrayDeque<>();
+        volatile boolean loaded;
+        // Lowest lastSeq whose missed ticks are all still in the ring
+        long floor = Long.MAX_VALUE;
+        long seq;
+        AuctionStatus status;
+        long price;
+        UUID leaderId;
+        LocalDateTime endTime;
+
+        // Caller holds the lock; prices only rise, so a lower one is an older update
+        void advance(long newPrice, UUID newLeaderId) {
+            if (newPrice > price) {
+                price = newPrice;
+                leaderId = newLeaderId;
+            }
+        }
+
+        AuctionSnapshot snapshot(UUID auctionId) {
+            return new AuctionSnapshot(auctionId, seq, status, price, leaderId, endTime);
+        }
+    }
+}
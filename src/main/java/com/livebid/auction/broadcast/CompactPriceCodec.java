@@ -0,0 +1,250 @@
+package com.livebid.auction.broadcast;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.auction.event.AuctionClosedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary price frames for clients that negotiate {@code format: compact}
+ * on their auction subscription. The auction id is implied by the destination,
+ * bidder ids are interned per auction and prices are delta-encoded:
+ *
+ * <pre>
+ * KEY    = 0x01 seq price epochMillis leaderIndex count leaderId(16 bytes, big-endian) * count
+ * DELTA  = 0x02 zz(seqDelta) zz(priceDelta) zz(millisDelta) leaderIndex
+ * INTERN = 0x03 zz(seqDelta) zz(priceDelta) zz(millisDelta) leaderIndex leaderId(16 bytes, big-endian)
+ * CLOSE  = 0x04 closingPrice hasWinner [winnerId(16 bytes, big-endian)]
+ * </pre>
+ *
+ * Integers are unsigned LEB128 varints, {@code zz} marks zigzag-encoded signed
+ * values and leader index 0 means no leader. A KEY frame carries every bidder
+ * interned so far, in index order, and is sent every {@value #KEY_INTERVAL}
+ * frames; a bidder's first lead is an INTERN frame that adds it to the table. A
+ * late subscriber skips DELTA and INTERN frames until the next KEY frame and
+ * can decode every leader from then on. The CLOSE frame is the last frame of a
+ * stream and stands alone, so any subscriber can decode it.
+ */
+public class CompactPriceCodec {
+
+    static final int KEY_INTERVAL = 32;
+    private static final byte KEY = 1;
+    private static final byte DELTA = 2;
+    private static final byte INTERN = 3;
+    private static final byte CLOSE = 4;
+
+    private final Cache<UUID, Stream> streams = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public byte[] encode(PriceTick tick) {
+        byte[][] frame = new byte[1][];
+        encode(tick, encoded -> frame[0] = encoded);
+        return frame[0];
+    }
+
+    /**
+     * Encodes the tick and hands the frame to {@code deliver} while still holding
+     * the auction's stream lock, so frames reach subscribers in the order their
+     * deltas were computed.
+     */
+    public void encode(PriceTick tick, Consumer<byte[]> deliver) {
+        Stream stream = streams.get(tick.auctionId(), id -> new Stream());
+        long millis = tick.timestamp() != null ? toMillis(tick.timestamp()) : 0;
+        stream.lock.lock();
+        try {
+            int leader = 0;
+            boolean newLeader = false;
+            if (tick.newLeaderId() != null) {
+                Integer known = stream.leaders.get(tick.newLeaderId());
+                newLeader = known == null;
+                leader = newLeader ? stream.leaders.size() + 1 : known;
+                if (newLeader) {
+                    stream.leaders.put(tick.newLeaderId(), leader);
+                    stream.leaderIds.add(tick.newLeaderId());
+                }
+            }
+
+            Writer out = new Writer();
+            if (stream.frames % KEY_INTERVAL == 0) {
+                out.put(KEY);
+                out.varint(tick.seq());
+                out.varint(tick.newPrice());
+                out.varint(millis);
+                out.varint(leader);
+                out.varint(stream.leaderIds.size());
+                stream.leaderIds.forEach(out::uuid);
+            } else {
+                out.put(newLeader ? INTERN : DELTA);
+                out.zigzag(tick.seq() - stream.seq);
+                out.zigzag(tick.newPrice() - stream.price);
+                out.zigzag(millis - stream.millis);
+                out.varint(leader);
+                if (newLeader) {
+                    out.uuid(tick.newLeaderId());
+                }
+            }
+            stream.frames++;
+            stream.seq = tick.seq();
+            stream.price = tick.newPrice();
+            stream.millis = millis;
+            deliver.accept(out.toByteArray());
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    public static byte[] encodeClose(AuctionClosedEvent event) {
+        Writer out = new Writer();
+        out.put(CLOSE);
+        out.varint(event.getClosingPrice());
+        out.varint(event.getWinnerId() != null ? 1 : 0);
+        if (event.getWinnerId() != null) {
+            out.uuid(event.getWinnerId());
+        }
+        return out.toByteArray();
+    }
+
+    public void forget(UUID auctionId) {
+        streams.invalidate(auctionId);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Stream {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<UUID, Integer> leaders = new HashMap<>();
+        final List<UUID> leaderIds = new ArrayList<>();
+        long frames;
+        long seq;
+        long price;
+        long millis;
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(32);
+        }
+
+        void put(byte b) {
+            write(b);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void uuid(UUID id) {
+            writeBytes(ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .array());
+        }
+    }
+
+    /**
+     * Reference decoder for one subscription's frames, in the order received.
+     */
+    public static final class Decoder {
+
+        private final List<UUID> leaders = new ArrayList<>();
+        private boolean synced;
+        private long seq;
+        private long price;
+        private long millis;
+
+        /**
+         * Returns the decoded close, or null if the frame is not a CLOSE frame.
+         */
+        public AuctionClosedEvent decodeClose(UUID auctionId, byte[] frame) {
+            ByteBuffer in = ByteBuffer.wrap(frame);
+            if (in.get() != CLOSE) {
+                return null;
+            }
+            long closingPrice = varint(in);
+            UUID winnerId = varint(in) == 1 ? new UUID(in.getLong(), in.getLong()) : null;
+            return new AuctionClosedEvent(auctionId, winnerId, closingPrice);
+        }
+
+        /**
+         * Returns the decoded tick, or null for a CLOSE frame or a frame seen before
+         * the first KEY frame.
+         */
+        public PriceTick decode(UUID auctionId, byte[] frame) {
+            ByteBuffer in = ByteBuffer.wrap(frame);
+            byte type = in.get();
+            int leader;
+            if (type == KEY) {
+                seq = varint(in);
+                price = varint(in);
+                millis = varint(in);
+                leader = (int) varint(in);
+                int count = (int) varint(in);
+                leaders.clear();
+                for (int i = 0; i < count; i++) {
+                    leaders.add(new UUID(in.getLong(), in.getLong()));
+                }
+                synced = true;
+            } else if ((type == DELTA || type == INTERN) && synced) {
+                seq += zigzag(in);
+                price += zigzag(in);
+                millis += zigzag(in);
+                leader = (int) varint(in);
+                if (type == INTERN) {
+                    UUID id = new UUID(in.getLong(), in.getLong());
+                    while (leaders.size() < leader) {
+                        leaders.add(null);
+                    }
+                    leaders.set(leader - 1, id);
+                }
+            } else {
+                return null;
+            }
+            UUID leaderId = leader == 0 || leader > leaders.size() ? null : leaders.get(leader - 1);
+            LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis),
+                    ZoneId.systemDefault());
+            return new PriceTick(auctionId, seq, price, leaderId, null, timestamp);
+        }
+
+        private static long varint(ByteBuffer in) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static long zigzag(ByteBuffer in) {
+            long raw = varint(in);
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.livebid.auction.broadcast;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Negotiates the compact price format. A SUBSCRIBE to {@code /topic/auctions/{id}}
+ * carrying {@code x-livebid-format: compact} is moved to
+ * {@code /topic/auctions/{id}/compact}, but only on sessions opened through the
+ * native {@code /ws-native} endpoint: SockJS frames are text and cannot carry the
+ * binary payload, so those sessions keep JSON.
+ */
+public class CompactSubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String FORMAT_HEADER = "x-livebid-format";
+    public static final String NATIVE_SESSION = "livebid.nativeWebSocket";
+
+    private static final Pattern AUCTION_TOPIC = Pattern.compile("/topic/auctions/[0-9a-fA-F-]{36}");
+
+    public static String compactDestination(UUID auctionId) {
+        return "/topic/auctions/" + auctionId + "/compact";
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        Map<String, Object> session = accessor.getSessionAttributes();
+        if (destination == null || !AUCTION_TOPIC.matcher(destination).matches()
+                || !"compact".equalsIgnoreCase(accessor.getFirstNativeHeader(FORMAT_HEADER))
+                || session == null || !Boolean.TRUE.equals(session.get(NATIVE_SESSION))) {
+            return message;
+        }
+
+        StompHeaderAccessor rewritten = StompHeaderAccessor.wrap(message);
+        rewritten.setDestination(destination + "/compact");
+        return MessageBuilder.createMessage(message.getPayload(), rewritten.getMessageHeaders());
+    }
+}
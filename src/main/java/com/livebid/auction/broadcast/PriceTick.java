@@ -0,0 +1,19 @@
+package com.livebid.auction.broadcast;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Price update sent on {@code /topic/auctions/{id}}. Keeps the {@code BidPlacedEvent}
+ * field names so existing clients read it unchanged. {@code seq} counts accepted
+ * bids on the auction, so a jump of more than one means intermediate prices
+ * were conflated away.
+ */
+public record PriceTick(
+        UUID auctionId,
+        long seq,
+        long newPrice,
+        UUID newLeaderId,
+        UUID previousLeaderId,
+        LocalDateTime timestamp) {
+}
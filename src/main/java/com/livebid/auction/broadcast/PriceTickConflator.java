@@ -0,0 +1,237 @@
+package com.livebid.auction.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.BidPlacedEvent;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps only the latest price per auction and broadcasts it every
+ * {@code livebid.broadcast.conflation-interval-ms}, so a hot auction sends at
+ * most one price frame per interval however many bids it takes. An interval of
+ * 0 sends every bid immediately, and so does every bid placed within one
+ * interval of the auction's end, so the closing price is never held back past
+ * the close. Each frame also goes out in the
+ * {@link CompactPriceCodec compact format} to sessions that negotiated it and
+ * to {@link AuctionStreams SSE watchers}.
+ */
+@Component
+public class PriceTickConflator {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceTickConflator.class);
+
+    private final TopicPublisher topicPublisher;
+    private final ObjectMapper objectMapper;
+    private final AuctionTopicReplay replay;
+    private final AuctionStreams streams;
+    private final CompactPriceCodec compactCodec = new CompactPriceCodec();
+    private final long intervalMs;
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final Counter ticksIn;
+    private final Counter framesOut;
+    private final ScheduledExecutorService flusher;
+
+    public PriceTickConflator(TopicPublisher topicPublisher, ObjectMapper objectMapper, AuctionTopicReplay replay,
+            AuctionStreams streams, MeterRegistry meterRegistry,
+            @Value("${livebid.broadcast.conflation-interval-ms:100}") long intervalMs) {
+        this.topicPublisher = topicPublisher;
+        this.objectMapper = objectMapper;
+        this.replay = replay;
+        this.streams = streams;
+        this.intervalMs = intervalMs;
+        this.ticksIn = Counter.builder("livebid.broadcast.ticks.in")
+                .description("Bid price updates offered for broadcast")
+                .register(meterRegistry);
+        this.framesOut = Counter.builder("livebid.broadcast.frames.out")
+                .description("Price frames broadcast after conflation")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("price-tick-flusher").daemon().factory());
+        if (intervalMs > 0) {
+            flusher.scheduleAtFixedRate(this::flushAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+        flusher.scheduleWithFixedDelay(this::evictClosed, 10, 10, TimeUnit.SECONDS);
+    }
+
+    // Ticks conflated on another node reach compact subscribers here through the relayed JSON
+    @PostConstruct
+    void listenForRelayedTicks() {
+        topicPublisher.onRelayed("/topic/auctions/", this::relayed);
+    }
+
+    public void offer(BidPlacedEvent event) {
+        ticksIn.increment();
+        Slot slot = slots.computeIfAbsent(event.getAuctionId(), id -> new Slot());
+        PriceTick tick;
+        slot.lock.lock();
+        try {
+            if (slot.closedAt != 0) {
+                // A bid side effect that ran after the close frame went out
+                return;
+            }
+            slot.seq++;
+            // Listeners can run out of commit order; prices only rise, so the highest is newest
+            if (slot.pending != null && slot.pending.newPrice() >= event.getNewPrice()
+                    || slot.sentPrice >= event.getNewPrice()) {
+                return;
+            }
+            slot.pending = new PriceTick(event.getAuctionId(), slot.seq, event.getNewPrice(),
+                    event.getNewLeaderId(), event.getPreviousLeaderId(), event.getTimestamp());
+            if (intervalMs > 0 && !closingWithinInterval(event)) {
+                return;
+            }
+            tick = slot.take();
+        } finally {
+            slot.lock.unlock();
+        }
+        send(tick);
+    }
+
+    private boolean closingWithinInterval(BidPlacedEvent event) {
+        return event.getEndTime() != null
+                && !LocalDateTime.now().plus(intervalMs, ChronoUnit.MILLIS).isBefore(event.getEndTime());
+    }
+
+    /**
+     * Sends the auction's pending price now and stops broadcasting it. Called
+     * before the close frame so the final price is never held back by conflation.
+     */
+    public void flush(UUID auctionId) {
+        Slot slot = slots.get(auctionId);
+        if (slot != null) {
+            PriceTick tick;
+            slot.lock.lock();
+            try {
+                tick = slot.take();
+                slot.closedAt = System.nanoTime();
+            } finally {
+                slot.lock.unlock();
+            }
+            send(tick);
+        }
+        compactCodec.forget(auctionId);
+    }
+
+    /**
+     * Sends the close to this node's compact subscribers, whose subscription no
+     * longer reaches the JSON topic the close frame is published on. Call after
+     * {@link #flush}.
+     */
+    public void closed(AuctionClosedEvent event) {
+        compactCodec.forget(event.getAuctionId());
+        String destination = CompactSubscriptionInterceptor.compactDestination(event.getAuctionId());
+        if (topicPublisher.hasLocalSubscribers(destination)) {
+            topicPublisher.publishLocal(destination, CompactPriceCodec.encodeClose(event),
+                    MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        }
+    }
+
+    private void flushAll() {
+        for (Slot slot : slots.values()) {
+            try {
+                send(slot.takeLocked());
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; drop this frame and keep ticking
+                log.warn("Price tick broadcast failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Closed slots linger briefly so late bid side effects are dropped, not re-broadcast
+    private void evictClosed() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(1);
+        slots.values().removeIf(slot -> slot.closedAt != 0 && slot.closedAt - cutoff < 0);
+    }
+
+    private void send(PriceTick tick) {
+        if (tick == null) {
+            return;
+        }
+        replay.record(tick);
+        streams.publish(tick);
+        String destination = "/topic/auctions/" + tick.auctionId();
+        if (topicPublisher.hasAudience(destination)) {
+            topicPublisher.publish(destination, tick);
+            framesOut.increment();
+        }
+        sendCompact(tick);
+    }
+
+    // Unwatched streams skip encoding; a new subscriber waits for the next key frame anyway
+    private void sendCompact(PriceTick tick) {
+        String destination = CompactSubscriptionInterceptor.compactDestination(tick.auctionId());
+        if (topicPublisher.hasLocalSubscribers(destination)) {
+            compactCodec.encode(tick,
+                    frame -> topicPublisher.publishLocal(destination, frame, MimeTypeUtils.APPLICATION_OCTET_STREAM));
+        }
+    }
+
+    private void relayed(String destination, JsonNode payload) {
+        // Close frames share the destination with price ticks; anything else is ignored
+        try {
+            if (payload.has("closingPrice")) {
+                closed(objectMapper.treeToValue(payload, AuctionClosedEvent.class));
+                return;
+            }
+            if (!payload.has("seq")) {
+                return;
+            }
+            sendCompact(objectMapper.treeToValue(payload, PriceTick.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable relayed frame for {}: {}", destination, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+
+    private static final class Slot {
+        final ReentrantLock lock = new ReentrantLock();
+        long seq;
+        long sentPrice;
+        PriceTick pending;
+        volatile long closedAt;
+
+        // Caller holds the lock
+        PriceTick take() {
+            PriceTick tick = pending;
+            if (tick != null) {
+                sentPrice = tick.newPrice();
+                pending = null;
+            }
+            return tick;
+        }
+
+        PriceTick takeLocked() {
+            lock.lock();
+            try {
+                return take();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
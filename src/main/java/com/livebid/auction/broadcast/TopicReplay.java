@@ -0,0 +1,16 @@
+package com.livebid.auction.broadcast;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer to a resume request: either the ticks sent after the client's last
+ * sequence, oldest first, or a {@code snapshot} when that gap can no longer be
+ * replayed. Exactly one of {@code ticks} (possibly empty) and {@code snapshot} is
+ * meaningful.
+ */
+public record TopicReplay(
+        UUID auctionId,
+        List<PriceTick> ticks,
+        AuctionSnapshot snapshot) {
+}
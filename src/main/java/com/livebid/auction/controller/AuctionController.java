@@ -1,12 +1,17 @@
 package com.livebid.auction.controller;
 
+import com.livebid.auction.broadcast.AuctionStreams;
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.TopicReplay;
 import com.livebid.auction.dto.AuctionResponse;
 import com.livebid.auction.dto.CreateAuctionRequest;
 import com.livebid.auction.service.AuctionService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -15,9 +20,13 @@ import java.util.UUID;
 public class AuctionController {
 
     private final AuctionService auctionService;
+    private final AuctionTopicReplay topicReplay;
+    private final AuctionStreams streams;
 
-    public AuctionController(AuctionService auctionService) {
+    public AuctionController(AuctionService auctionService, AuctionTopicReplay topicReplay, AuctionStreams streams) {
         this.auctionService = auctionService;
+        this.topicReplay = topicReplay;
+        this.streams = streams;
     }
 
     @PostMapping
@@ -51,4 +60,17 @@ public class AuctionController {
     public AuctionResponse getAuction(@PathVariable UUID id) {
         return auctionService.getAuction(id);
     }
+
+    // Same resume as the STOMP replay subscription, for clients polling after a reconnect
+    @GetMapping("/{id}/replay")
+    public TopicReplay replay(@PathVariable UUID id, @RequestParam(required = false) Long after) {
+        return topicReplay.replay(id, after);
+    }
+
+    // Read-only price stream for watchers; browsers resume with Last-Event-ID automatically
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable UUID id,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return streams.open(id, lastEventId);
+    }
 }
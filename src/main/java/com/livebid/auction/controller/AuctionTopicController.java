@@ -0,0 +1,32 @@
+package com.livebid.auction.controller;
+
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.TopicReplay;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.UUID;
+
+/**
+ * STOMP resume for auction topics. After subscribing to {@code /topic/auctions/{id}},
+ * a client subscribes to {@code /app/auctions/{id}/replay} with a {@code last-seq}
+ * header (omitted on first load) and receives one {@link TopicReplay} reply on that
+ * subscription only. Ticks already received live are recognised by {@code seq}.
+ */
+@Controller
+public class AuctionTopicController {
+
+    private final AuctionTopicReplay replay;
+
+    public AuctionTopicController(AuctionTopicReplay replay) {
+        this.replay = replay;
+    }
+
+    @SubscribeMapping("/auctions/{auctionId}/replay")
+    public TopicReplay replay(@DestinationVariable UUID auctionId,
+            @Header(name = "last-seq", required = false) Long lastSeq) {
+        return replay.replay(auctionId, lastSeq);
+    }
+}
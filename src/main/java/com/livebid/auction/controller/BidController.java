@@ -1,7 +1,10 @@
 package com.livebid.auction.controller;
 
+import com.livebid.auction.dto.BidHistoryResponse;
 import com.livebid.auction.dto.PlaceBidRequest;
-import com.livebid.auction.service.AuctionService;
+import com.livebid.auction.dto.PlaceProxyBidRequest;
+import com.livebid.auction.engine.BidEngine;
+import com.livebid.auction.service.BidHistoryService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,18 +15,42 @@ import java.util.UUID;
 @RequestMapping("/auctions")
 public class BidController {
 
-    private final AuctionService auctionService;
+    private final BidEngine bidEngine;
+    private final BidHistoryService bidHistoryService;
 
-    public BidController(AuctionService auctionService) {
-        this.auctionService = auctionService;
+    public BidController(BidEngine bidEngine, BidHistoryService bidHistoryService) {
+        this.bidEngine = bidEngine;
+        this.bidHistoryService = bidHistoryService;
+    }
+
+    @GetMapping("/{auctionId}/bids")
+    public BidHistoryResponse getBids(
+            @PathVariable UUID auctionId,
+            @RequestParam(defaultValue = "timestamp") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        return bidHistoryService.getBids(auctionId, sort, direction, limit, cursor);
     }
 
     @PostMapping("/{auctionId}/bids")
     public ResponseEntity<Void> placeBid(
             @PathVariable UUID auctionId,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid PlaceBidRequest request) {
 
-        auctionService.placeBid(auctionId, request.bidderId(), request.amount());
+        String requestKey = idempotencyKey != null ? idempotencyKey : request.requestKey();
+        bidEngine.placeBid(auctionId, request.bidderId(), request.amount(), requestKey);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{auctionId}/proxy-bids")
+    public ResponseEntity<Void> placeProxyBid(
+            @PathVariable UUID auctionId,
+            @RequestBody @Valid PlaceProxyBidRequest request) {
+
+        bidEngine.placeProxyBid(auctionId, request.bidderId(), request.maxAmount());
         return ResponseEntity.accepted().build();
     }
 }
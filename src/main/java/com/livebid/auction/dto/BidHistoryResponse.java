@@ -0,0 +1,11 @@
+package com.livebid.auction.dto;
+
+import java.util.List;
+
+/**
+ * One page of an auction's bids. {@code nextCursor} is null on the last page.
+ */
+public record BidHistoryResponse(
+        List<BidResponse> bids,
+        String nextCursor) {
+}
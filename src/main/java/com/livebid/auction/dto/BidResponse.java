@@ -0,0 +1,11 @@
+package com.livebid.auction.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BidResponse(
+        UUID id,
+        UUID bidderId,
+        long amount,
+        LocalDateTime timestamp) {
+}
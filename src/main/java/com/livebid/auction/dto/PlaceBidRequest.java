@@ -6,5 +6,6 @@ import java.util.UUID;
 
 public record PlaceBidRequest(
         @NotNull UUID bidderId,
-        @Min(1) long amount) {
+        @Min(1) long amount,
+        String requestKey) { // Optional idempotency key; the Idempotency-Key header takes precedence
 }
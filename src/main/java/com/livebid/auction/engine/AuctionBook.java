@@ -0,0 +1,47 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.service.BidRejectedException;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory state of one LIVE auction. Only the auction's shard thread reads or
+ * mutates it.
+ */
+@Getter
+class AuctionBook {
+
+    private final UUID auctionId;
+    private final LocalDateTime endTime;
+    private long currentPrice;
+    private UUID leaderId;
+    private UUID leaderBidId;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    AuctionBook(UUID auctionId, long currentPrice, UUID leaderId, UUID leaderBidId, LocalDateTime endTime) {
+        this.auctionId = auctionId;
+        this.currentPrice = currentPrice;
+        this.leaderId = leaderId;
+        this.leaderBidId = leaderBidId;
+        this.endTime = endTime;
+    }
+
+    void checkAcceptingBids(LocalDateTime now) {
+        if (now.isAfter(endTime)) {
+            throw new BidRejectedException("Auction has ended");
+        }
+    }
+
+    void accept(UUID bidderId, long amount, UUID bidId) {
+        this.currentPrice = amount;
+        this.leaderId = bidderId;
+        this.leaderBidId = bidId;
+    }
+
+    void setLastWrite(CompletableFuture<Void> lastWrite) {
+        this.lastWrite = lastWrite;
+    }
+}
@@ -0,0 +1,206 @@
+package com.livebid.auction.engine;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.auction.service.BidRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Makes bid submission idempotent per client request key. The first request
+ * with a key runs the bid; retries and concurrent duplicates get its outcome
+ * (accepted, or the same 400 or {@link BidRejectedException 409} rejection)
+ * without entering the bid path again. Keys live in a bounded, time-expiring
+ * local cache, optionally backed by Redis so a retry that lands on another node
+ * is also recognised. Any other failure, such as a bid that could not be
+ * recorded, is not remembered, so the client can retry it.
+ */
+@Component
+public class BidDeduplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(BidDeduplicator.class);
+    private static final String PENDING = "PENDING";
+
+    private final Cache<String, Attempt> attempts;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    private final Counter replays;
+
+    public BidDeduplicator(ObjectProvider<StringRedisTemplate> redisTemplate, MeterRegistry meterRegistry,
+            @Value("${livebid.bid-idempotency.max-keys:100000}") long maxKeys,
+            @Value("${livebid.bid-idempotency.ttl:10m}") Duration ttl,
+            @Value("${livebid.bid-idempotency.redis.enabled:false}") boolean redisEnabled) {
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.redisEnabled = redisEnabled && this.redisTemplate != null;
+        this.ttl = ttl;
+        this.replays = Counter.builder("livebid.bids.idempotent.replays")
+                .description("Bid requests answered from a previous attempt with the same key")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, attempts, "bidIdempotencyKeys");
+    }
+
+    public void placeOnce(String requestKey, UUID auctionId, UUID bidderId, long amount, Runnable bid) {
+        if (requestKey == null || requestKey.isBlank()) {
+            bid.run();
+            return;
+        }
+
+        // Scoped to auction and bidder so one client's key can never replay another's bid
+        String key = auctionId + ":" + bidderId + ":" + requestKey;
+        Attempt mine = new Attempt(amount, new CompletableFuture<>());
+        Attempt existing = attempts.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            replays.increment();
+            existing.replay(amount);
+            return;
+        }
+
+        if (redisEnabled) {
+            Outcome shared;
+            try {
+                shared = claimShared(key);
+            } catch (IllegalStateException e) {
+                attempts.invalidate(key);
+                mine.outcome().completeExceptionally(e);
+                throw e;
+            }
+            if (shared != null) {
+                replays.increment();
+                mine.outcome().complete(shared);
+                mine.replay(amount);
+                return;
+            }
+        }
+
+        try {
+            bid.run();
+            finish(key, mine, Outcome.accepted(amount));
+        } catch (IllegalArgumentException | BidRejectedException e) {
+            finish(key, mine, Outcome.rejected(amount, e));
+            throw e;
+        } catch (RuntimeException e) {
+            attempts.invalidate(key);
+            releaseShared(key);
+            mine.outcome().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void finish(String key, Attempt attempt, Outcome outcome) {
+        attempt.outcome().complete(outcome);
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().set(redisKey(key), outcome.encode(), ttl);
+            } catch (DataAccessException e) {
+                log.debug("Could not share bid outcome for key {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    // Returns the outcome another node already recorded, or null if this node now owns the key
+    private Outcome claimShared(String key) {
+        try {
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(redisKey(key), PENDING, ttl);
+            if (Boolean.TRUE.equals(claimed)) {
+                return null;
+            }
+            String stored = redisTemplate.opsForValue().get(redisKey(key));
+            if (stored == null) {
+                return null;
+            }
+            if (PENDING.equals(stored)) {
+                throw new IllegalStateException("A bid with this idempotency key is still being processed");
+            }
+            return Outcome.decode(stored);
+        } catch (DataAccessException e) {
+            log.debug("Shared idempotency tier unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void releaseShared(String key) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey(key));
+        } catch (DataAccessException e) {
+            log.debug("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String redisKey(String key) {
+        return "bid:idempotency:" + key;
+    }
+
+    private record Attempt(long amount, CompletableFuture<Outcome> outcome) {
+
+        void replay(long requestedAmount) {
+            if (requestedAmount != amount) {
+                throw new IllegalArgumentException("Idempotency key was already used for a different bid");
+            }
+            Outcome result;
+            try {
+                result = outcome.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            result.replay(requestedAmount);
+        }
+    }
+
+    private record Outcome(long amount, String status, String message) {
+
+        static Outcome accepted(long amount) {
+            return new Outcome(amount, "OK", "");
+        }
+
+        static Outcome rejected(long amount, RuntimeException e) {
+            return new Outcome(amount, e instanceof IllegalArgumentException ? "ARG" : "STATE",
+                    e.getMessage() == null ? "" : e.getMessage());
+        }
+
+        void replay(long requestedAmount) {
+            if (requestedAmount != amount) {
+                throw new IllegalArgumentException("Idempotency key was already used for a different bid");
+            }
+            switch (status) {
+                case "ARG" -> throw new IllegalArgumentException(message);
+                case "STATE" -> throw new BidRejectedException(message);
+                default -> {
+                }
+            }
+        }
+
+        String encode() {
+            return amount + "|" + status + "|" + message;
+        }
+
+        static Outcome decode(String value) {
+            String[] parts = value.split("\\|", 3);
+            return new Outcome(Long.parseLong(parts[0]), parts[1], parts.length > 2 ? parts[2] : "");
+        }
+    }
+}
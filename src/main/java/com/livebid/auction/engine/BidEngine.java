@@ -0,0 +1,90 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.service.AuctionService;
+import com.livebid.auction.service.BulkAuctionCloser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entry point for bids and closes. Routes to the in-memory {@link BidSequencer}
+ * when {@code livebid.bid-engine.mode=sequenced}, otherwise to the row-locking
+ * transactional path in {@link AuctionService}. When enabled, {@link RedisBidGate}
+ * rejects bids that cannot win before either path is entered.
+ */
+@Service
+public class BidEngine {
+
+    private final AuctionService auctionService;
+    private final BidSequencer sequencer;
+    private final RedisBidGate bidGate;
+    private final BidDeduplicator deduplicator;
+    private final BulkAuctionCloser bulkCloser;
+
+    public BidEngine(AuctionService auctionService, ObjectProvider<BidSequencer> sequencer,
+            RedisBidGate bidGate, BidDeduplicator deduplicator, ObjectProvider<BulkAuctionCloser> bulkCloser) {
+        this.auctionService = auctionService;
+        this.sequencer = sequencer.getIfAvailable();
+        this.bidGate = bidGate;
+        this.deduplicator = deduplicator;
+        this.bulkCloser = bulkCloser.getIfAvailable();
+    }
+
+    /**
+     * Places a bid at most once per {@code requestKey}; a null key disables deduplication.
+     */
+    public void placeBid(UUID auctionId, UUID bidderId, long amount, String requestKey) {
+        deduplicator.placeOnce(requestKey, auctionId, bidderId, amount,
+                () -> placeBid(auctionId, bidderId, amount));
+    }
+
+    public void placeBid(UUID auctionId, UUID bidderId, long amount) {
+        long gatePrice = bidGate.tryAdvance(auctionId, amount);
+        try {
+            if (sequencer != null) {
+                sequencer.placeBid(auctionId, bidderId, amount);
+            } else {
+                auctionService.placeBid(auctionId, bidderId, amount);
+            }
+        } catch (RuntimeException e) {
+            bidGate.restore(auctionId, amount, gatePrice);
+            throw e;
+        }
+    }
+
+    public void placeProxyBid(UUID auctionId, UUID bidderId, long maxAmount) {
+        if (sequencer != null) {
+            throw new IllegalStateException("Proxy bidding requires the transactional bid engine");
+        }
+        auctionService.placeProxyBid(auctionId, bidderId, maxAmount);
+    }
+
+    public void closeAuction(UUID auctionId) {
+        if (sequencer != null) {
+            sequencer.seal(auctionId);
+        }
+        if (auctionService.closeAuction(auctionId) && sequencer != null) {
+            sequencer.closed(auctionId);
+        }
+    }
+
+    /**
+     * Closes a batch of expired auctions through {@link BulkAuctionCloser} when
+     * {@code livebid.closing.mode=bulk}, otherwise one at a time.
+     */
+    public void closeAuctions(List<UUID> auctionIds) {
+        if (bulkCloser == null) {
+            auctionIds.forEach(this::closeAuction);
+            return;
+        }
+        if (sequencer != null) {
+            auctionIds.forEach(sequencer::seal);
+        }
+        List<UUID> closed = bulkCloser.close(auctionIds);
+        if (sequencer != null) {
+            closed.forEach(sequencer::closed);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.model.AuctionStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of committed bids and auction state
+ * transitions for the sequenced engine, plus periodic compact snapshots. On
+ * startup the sequencer rebuilds its books from the latest snapshot and the
+ * journal segments after it instead of querying every LIVE auction.
+ *
+ * <p>Files in {@code livebid.journal.dir}: {@code journal-<gen>.log} segments
+ * and {@code snapshot-<gen>.bin}, where a snapshot holds every LIVE auction as
+ * of the start of segment {@code gen}. Replaying a bid is idempotent (prices only
+ * go up), so a snapshot may safely overlap its segment.
+ */
+@Component
+@ConditionalOnProperty(name = "livebid.journal.enabled", havingValue = "true")
+public class BidJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BidJournal.class);
+
+    private static final byte BID = 1;
+    private static final byte STATE = 2;
+    private static final int SNAPSHOT_MAGIC = 0x4C424A53; // "LBJS"
+    private static final UUID NONE = new UUID(0, 0);
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Compact state as of the last appended record; this is what snapshots write
+    private final Map<UUID, JournalBook> live = new HashMap<>();
+    private final boolean hasHistory;
+    private final CRC32 crc = new CRC32();
+    private long generation;
+    private MappedByteBuffer segment;
+
+    public BidJournal(@Value("${livebid.journal.dir:./data/journal}") Path dir,
+            @Value("${livebid.journal.segment-size-mb:64}") int segmentSizeMb) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        Files.createDirectories(dir);
+
+        long started = System.nanoTime();
+        this.hasHistory = replay();
+        if (hasHistory) {
+            log.info("Replayed bid journal: {} live auctions in {} ms", live.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+        // Never append to a segment that may have a torn tail
+        openSegment(generation + 1);
+    }
+
+    /**
+     * True if books can be recovered from disk rather than the database.
+     */
+    public boolean hasHistory() {
+        return hasHistory;
+    }
+
+    public List<JournalBook> liveBooks() {
+        lock.lock();
+        try {
+            return new ArrayList<>(live.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records an auction as LIVE. The leader is null for a fresh auction and set
+     * when an existing book is seeded from the database.
+     */
+    public void appendStarted(UUID auctionId, long price, UUID leaderId, UUID leaderBidId, LocalDateTime endTime) {
+        JournalBook book = new JournalBook(auctionId, price, leaderId, leaderBidId, toMillis(endTime));
+        append(STATE, stateRecord(book, AuctionStatus.LIVE), () -> startBook(book));
+    }
+
+    public void appendStatus(UUID auctionId, AuctionStatus status) {
+        append(STATE, stateRecord(new JournalBook(auctionId, 0, null, null, 0), status),
+                () -> live.remove(auctionId));
+    }
+
+    public void appendBid(UUID bidId, UUID auctionId, UUID bidderId, long amount, LocalDateTime timestamp) {
+        ByteBuffer record = ByteBuffer.allocate(16 * 3 + 8 + 8);
+        putUuid(record, bidId);
+        putUuid(record, auctionId);
+        putUuid(record, bidderId);
+        record.putLong(amount).putLong(toMillis(timestamp));
+        append(BID, record, () -> applyBid(auctionId, bidderId, bidId, amount));
+    }
+
+    /**
+     * Starts a new segment, writes the compact state as its snapshot and deletes
+     * everything older.
+     */
+    @Scheduled(fixedDelayString = "${livebid.journal.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        long snapshotGeneration;
+        List<JournalBook> books;
+        lock.lock();
+        try {
+            openSegment(generation + 1);
+            snapshotGeneration = generation;
+            books = new ArrayList<>(live.values());
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writeSnapshot(snapshotGeneration, books);
+            deleteOlderThan(snapshotGeneration);
+        } catch (IOException e) {
+            log.warn("Bid journal snapshot {} failed: {}", snapshotGeneration, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${livebid.journal.force-interval-ms:100}")
+    public void force() {
+        lock.lock();
+        try {
+            segment.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        force();
+    }
+
+    private void append(byte type, ByteBuffer payload, Runnable applyToState) {
+        payload.flip();
+        lock.lock();
+        try {
+            int recordSize = 4 + 1 + payload.remaining() + 8;
+            if (segment.remaining() < recordSize + 4) {
+                openSegment(generation + 1);
+            }
+            crc.reset();
+            crc.update(type);
+            crc.update(payload.duplicate());
+            segment.putInt(payload.remaining());
+            segment.put(type);
+            segment.put(payload);
+            segment.putLong(crc.getValue());
+            applyToState.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void startBook(JournalBook book) {
+        live.merge(book.auctionId(), book,
+                (current, started) -> current.price() >= started.price() ? current : started);
+    }
+
+    private static ByteBuffer stateRecord(JournalBook book, AuctionStatus status) {
+        ByteBuffer record = ByteBuffer.allocate(16 + 1 + 8 + 8 + 16 + 16);
+        putUuid(record, book.auctionId());
+        record.put((byte) status.ordinal()).putLong(book.price()).putLong(book.endTimeMillis());
+        putUuid(record, book.leaderId() != null ? book.leaderId() : NONE);
+        putUuid(record, book.leaderBidId() != null ? book.leaderBidId() : NONE);
+        return record;
+    }
+
+    private void applyBid(UUID auctionId, UUID bidderId, UUID bidId, long amount) {
+        JournalBook book = live.get(auctionId);
+        if (book != null && amount > book.price()) {
+            live.put(auctionId, new JournalBook(auctionId, amount, bidderId, bidId, book.endTimeMillis()));
+        }
+    }
+
+    // Caller holds the lock (or is the constructor)
+    private void openSegment(long newGeneration) {
+        if (segment != null) {
+            segment.force();
+        }
+        Path file = dir.resolve("journal-" + newGeneration + ".log");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open bid journal segment " + file, e);
+        }
+        generation = newGeneration;
+    }
+
+    private boolean replay() throws IOException {
+        long snapshotGeneration = latest("snapshot-", ".bin");
+        if (snapshotGeneration > 0) {
+            readSnapshot(dir.resolve("snapshot-" + snapshotGeneration + ".bin"));
+        }
+
+        List<Long> segments = generations("journal-", ".log");
+        boolean any = snapshotGeneration > 0;
+        for (long gen : segments) {
+            generation = Math.max(generation, gen);
+            if (gen >= snapshotGeneration) {
+                readSegment(dir.resolve("journal-" + gen + ".log"));
+                any = true;
+            }
+        }
+        generation = Math.max(generation, snapshotGeneration);
+        return any;
+    }
+
+    private void readSegment(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 check = new CRC32();
+            while (buffer.remaining() >= 4) {
+                int length = buffer.getInt();
+                if (length <= 0 || buffer.remaining() < 1 + length + 8) {
+                    return;
+                }
+                byte type = buffer.get();
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                long expected = buffer.getLong();
+
+                check.reset();
+                check.update(type);
+                check.update(payload.duplicate());
+                if (check.getValue() != expected) {
+                    log.warn("Torn record in {}; ignoring the rest of the segment", file.getFileName());
+                    return;
+                }
+                replayRecord(type, payload);
+            }
+        }
+    }
+
+    private void replayRecord(byte type, ByteBuffer payload) {
+        if (type == BID) {
+            UUID bidId = getUuid(payload);
+            UUID auctionId = getUuid(payload);
+            UUID bidderId = getUuid(payload);
+            applyBid(auctionId, bidderId, bidId, payload.getLong());
+        } else if (type == STATE) {
+            UUID auctionId = getUuid(payload);
+            AuctionStatus status = AuctionStatus.values()[payload.get()];
+            long price = payload.getLong();
+            long endMillis = payload.getLong();
+            UUID leaderId = getUuid(payload);
+            UUID leaderBidId = getUuid(payload);
+            if (status == AuctionStatus.LIVE) {
+                startBook(new JournalBook(auctionId, price, NONE.equals(leaderId) ? null : leaderId,
+                        NONE.equals(leaderBidId) ? null : leaderBidId, endMillis));
+            } else {
+                live.remove(auctionId);
+            }
+        }
+    }
+
+    private void writeSnapshot(long snapshotGeneration, Collection<JournalBook> books) throws IOException {
+        Path tmp = dir.resolve("snapshot-" + snapshotGeneration + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snapshotGeneration);
+            out.writeInt(books.size());
+            for (JournalBook book : books) {
+                writeUuid(out, book.auctionId());
+                out.writeLong(book.price());
+                writeUuid(out, book.leaderId() != null ? book.leaderId() : NONE);
+                writeUuid(out, book.leaderBidId() != null ? book.leaderBidId() : NONE);
+                out.writeLong(book.endTimeMillis());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, dir.resolve("snapshot-" + snapshotGeneration + ".bin"), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a bid journal snapshot: " + file);
+            }
+            in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID auctionId = readUuid(in);
+                long price = in.readLong();
+                UUID leaderId = readUuid(in);
+                UUID leaderBidId = readUuid(in);
+                long endMillis = in.readLong();
+                live.put(auctionId, new JournalBook(auctionId, price, NONE.equals(leaderId) ? null : leaderId,
+                        NONE.equals(leaderBidId) ? null : leaderBidId, endMillis));
+            }
+        }
+    }
+
+    private void deleteOlderThan(long keepGeneration) throws IOException {
+        for (long gen : generations("journal-", ".log")) {
+            if (gen < keepGeneration) {
+                Files.deleteIfExists(dir.resolve("journal-" + gen + ".log"));
+            }
+        }
+        for (long gen : generations("snapshot-", ".bin")) {
+            if (gen < keepGeneration) {
+                Files.deleteIfExists(dir.resolve("snapshot-" + gen + ".bin"));
+            }
+        }
+    }
+
+    private long latest(String prefix, String suffix) throws IOException {
+        List<Long> all = generations(prefix, suffix);
+        return all.isEmpty() ? 0 : all.get(all.size() - 1);
+    }
+
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Committed state of one LIVE auction as recorded in the journal.
+     */
+    public record JournalBook(UUID auctionId, long price, UUID leaderId, UUID leaderBidId, long endTimeMillis) {
+
+        public LocalDateTime endTime() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(endTimeMillis), ZoneId.systemDefault());
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.BidRejectedException;
+import com.livebid.auction.service.BidRules;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.user.service.WalletService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-writer bid sequencer. Every LIVE auction is pinned to one shard thread
+ * that owns its {@link AuctionBook}, so bids are accepted or rejected in memory
+ * without taking the auction row lock. Accepted bids are handed to the
+ * {@link BidWriteBatcher} in order; with {@code livebid.bid-engine.durable-ack}
+ * the caller also waits for that group commit. With {@code livebid.journal.enabled}
+ * the books are recovered from the {@link BidJournal} and checked against one
+ * query of LIVE prices; a book the journal has behind the database is left to
+ * load from the database on its next bid.
+ *
+ * <p>A bid only reserves the bidder's funds when it is accepted; the leader it
+ * replaces is refunded in the transaction that writes the bid. If the batcher
+ * rejects an auction's bids, it returns their reservations and this sequencer
+ * reloads the auction's book and gate price from the database, so the book,
+ * the wallet and the table agree again.
+ */
+@Component
+@ConditionalOnProperty(name = "livebid.bid-engine.mode", havingValue = "sequenced")
+public class BidSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(BidSequencer.class);
+
+    private final AuctionRepository auctionRepository;
+    private final WalletService walletService;
+    private final BidWriteBatcher writeBatcher;
+    private final RedisBidGate bidGate;
+    private final BidJournal journal;
+    private final boolean durableAck;
+    private final Map<UUID, AuctionBook> books = new ConcurrentHashMap<>();
+    private final ExecutorService[] shards;
+
+    public BidSequencer(AuctionRepository auctionRepository, WalletService walletService,
+            BidWriteBatcher writeBatcher, RedisBidGate bidGate, ObjectProvider<BidJournal> journal,
+            @Value("${livebid.bid-engine.shards:0}") int shardCount,
+            @Value("${livebid.bid-engine.durable-ack:true}") boolean durableAck) {
+        this.auctionRepository = auctionRepository;
+        this.walletService = walletService;
+        this.writeBatcher = writeBatcher;
+        this.bidGate = bidGate;
+        this.journal = journal.getIfAvailable();
+        this.durableAck = durableAck;
+
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("bid-shard-" + i).factory());
+        }
+    }
+
+    @PostConstruct
+    public void listenForRejectedWrites() {
+        writeBatcher.onRejected(this::restore);
+    }
+
+    public void placeBid(UUID auctionId, UUID bidderId, long amount) {
+        CompletableFuture<Void> committed = join(
+                CompletableFuture.supplyAsync(() -> sequence(auctionId, bidderId, amount), shardFor(auctionId)));
+        if (durableAck) {
+            join(committed);
+        }
+    }
+
+    /**
+     * Stops accepting bids for an auction and waits until its accepted bids are
+     * committed, so closing reads the final leader from the database.
+     */
+    public void seal(UUID auctionId) {
+        CompletableFuture<Void> lastWrite = join(CompletableFuture.supplyAsync(() -> {
+            AuctionBook book = books.remove(auctionId);
+            return book != null ? book.getLastWrite() : CompletableFuture.<Void>completedFuture(null);
+        }, shardFor(auctionId)));
+        try {
+            lastWrite.join();
+        } catch (CompletionException e) {
+            log.error("Sealing auction {} after a failed bid write", auctionId, e.getCause());
+        }
+        if (journal != null) {
+            journal.appendStatus(auctionId, AuctionStatus.CLOSING);
+        }
+    }
+
+    /**
+     * Records that a sealed auction has been settled.
+     */
+    public void closed(UUID auctionId) {
+        if (journal != null) {
+            journal.appendStatus(auctionId, AuctionStatus.CLOSED);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (journal != null && journal.hasHistory()) {
+            // The journal can trail the database: a lost force, a batch it missed or an old directory
+            Map<UUID, Long> livePrices = new HashMap<>();
+            for (Object[] row : auctionRepository.findLivePrices()) {
+                livePrices.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+            var journalBooks = journal.liveBooks();
+            int stale = 0;
+            for (BidJournal.JournalBook recovered : journalBooks) {
+                Long price = livePrices.get(recovered.auctionId());
+                if (price == null || price != recovered.price()) {
+                    stale++;
+                    continue;
+                }
+                AuctionBook book = new AuctionBook(recovered.auctionId(), recovered.price(), recovered.leaderId(),
+                        recovered.leaderBidId(), recovered.endTime());
+                shardFor(book.getAuctionId()).execute(() -> books.putIfAbsent(book.getAuctionId(), book));
+            }
+            log.info("Recovered {} live auctions from the bid journal into {} bid shards",
+                    journalBooks.size() - stale, shards.length);
+            if (stale > 0) {
+                log.warn("Skipped {} journal books that disagree with the database; they load on their next bid",
+                        stale);
+            }
+            return;
+        }
+
+        var liveAuctions = auctionRepository.findByStatus(AuctionStatus.LIVE);
+        for (Auction auction : liveAuctions) {
+            if (journal != null) {
+                // First start with a journal: seed it so the next restart can skip this query
+                journal.appendStarted(auction.getId(), auction.getCurrentPrice(), auction.getCurrentLeaderId(),
+                        auction.getCurrentLeaderBidId(), auction.getEndTime());
+            }
+            shardFor(auction.getId()).execute(() -> books.putIfAbsent(auction.getId(), toBook(auction)));
+        }
+        log.info("Recovered {} live auctions into {} bid shards", liveAuctions.size(), shards.length);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        AuctionBook book = new AuctionBook(event.getAuctionId(), event.getCurrentPrice(), null, null,
+                event.getEndTime());
+        if (journal != null) {
+            journal.appendStarted(event.getAuctionId(), event.getCurrentPrice(), null, null, event.getEndTime());
+        }
+        shardFor(event.getAuctionId()).execute(() -> books.put(event.getAuctionId(), book));
+    }
+
+    // Runs on the auction's shard thread
+    private CompletableFuture<Void> sequence(UUID auctionId, UUID bidderId, long amount) {
+        AuctionBook book = books.get(auctionId);
+        if (book == null) {
+            book = load(auctionId);
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        book.checkAcceptingBids(now);
+        BidRules.checkAmount(book.getCurrentPrice(), amount);
+
+        // The replaced leader is refunded when this bid commits, not before
+        walletService.reserve(bidderId, amount);
+        UUID bidId = TimeOrderedUuid.next();
+        CompletableFuture<Void> committed;
+        try {
+            committed = writeBatcher.submit(bidId, auctionId, bidderId, amount, now, book.getLeaderId(),
+                    book.getCurrentPrice(), book.getEndTime());
+        } catch (RuntimeException e) {
+            walletService.release(bidderId, amount);
+            throw e;
+        }
+        book.accept(bidderId, amount, bidId);
+        book.setLastWrite(committed);
+        return committed;
+    }
+
+    // Called by the batcher once an auction's unwritten bids have been refunded
+    private void restore(UUID auctionId) {
+        shardFor(auctionId).execute(() -> {
+            books.remove(auctionId);
+            // Bids accepted from here on queue behind the marker, so only they are written
+            writeBatcher.reopen(auctionId);
+            try {
+                Auction auction = auctionRepository.findById(auctionId).orElse(null);
+                if (auction == null || auction.getStatus() != AuctionStatus.LIVE) {
+                    return;
+                }
+                if (LocalDateTime.now().isBefore(auction.getEndTime())) {
+                    books.put(auctionId, toBook(auction));
+                }
+                bidGate.reset(auctionId, auction.getCurrentPrice());
+                log.warn("Reloaded auction {} at {} after its bids could not be written", auctionId,
+                        auction.getCurrentPrice());
+            } catch (RuntimeException e) {
+                // Without a book the next bid loads the auction again
+                log.warn("Could not reload auction {} after rejected bids: {}", auctionId, e.getMessage());
+            }
+        });
+    }
+
+    // Cold path: an auction that went LIVE on another node or before recovery finished
+    private AuctionBook load(UUID auctionId) {
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new IllegalStateException("Auction not found"));
+        if (auction.getStatus() != AuctionStatus.LIVE) {
+            throw new BidRejectedException("Auction is not live");
+        }
+
+        AuctionBook book = toBook(auction);
+        if (LocalDateTime.now().isBefore(auction.getEndTime())) {
+            books.put(auctionId, book);
+        }
+        return book;
+    }
+
+    private static AuctionBook toBook(Auction auction) {
+        return new AuctionBook(auction.getId(), auction.getCurrentPrice(), auction.getCurrentLeaderId(),
+                auction.getCurrentLeaderBidId(), auction.getEndTime());
+    }
+
+    private ExecutorService shardFor(UUID auctionId) {
+        return shards[Math.floorMod(auctionId.hashCode(), shards.length)];
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            shard.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.event.BidPlacedEvent;
+import com.livebid.user.service.WalletService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Group-commit stage for sequenced bids. Accepted bids from all shards are
+ * collected for up to {@code livebid.bid-engine.batch.window-ms} or
+ * {@code livebid.bid-engine.batch.max-size} bids, then written as JDBC batch
+ * inserts and one leader update per auction in a single transaction, which also
+ * refunds the leaders the bids replaced. Each bid's future completes only after
+ * that transaction commits and, when enabled, the bid has been appended to the
+ * {@link BidJournal}.
+ *
+ * <p>Accepted bids are never dropped. A write that fails is retried with backoff
+ * until the database takes it; only an auction whose bids violate a constraint,
+ * or whose committed price is already at or above them, is rejected, after writing each auction of the batch on its own so the rest
+ * still commit. A rejected auction's queued bids are rejected with it until the
+ * sequencer has reloaded it and called {@link #reopen}. Rejecting releases the
+ * bids' reservations and tells the {@link #onRejected} listener which auctions
+ * to reload.
+ */
+@Component
+@ConditionalOnProperty(name = "livebid.bid-engine.mode", havingValue = "sequenced")
+public class BidWriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BidWriteBatcher.class);
+    private static final long INITIAL_BACKOFF_MS = 50;
+    private static final long MAX_BACKOFF_MS = 5_000;
+    private static final String INSERT_BID_SQL = "INSERT INTO bids (id, auction_id, bidder_id, amount, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_LEADER_SQL = "UPDATE auctions SET current_price = ?, current_leader_id = ?, "
+            + "current_leader_bid_id = ? WHERE id = ? AND current_price < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletService walletService;
+    private final BidJournal journal;
+    private final BlockingQueue<Write> queue;
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+    // Auctions whose bids are being rejected until their Reopen marker; flusher thread only
+    private final Set<UUID> rejected = new HashSet<>();
+    private Thread flusher;
+    private volatile boolean running = true;
+    private volatile boolean abandoned;
+    private volatile Consumer<UUID> rejectionListener = auctionId -> {
+    };
+
+    public BidWriteBatcher(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, WalletService walletService, ObjectProvider<BidJournal> journal,
+            MeterRegistry meterRegistry,
+            @Value("${livebid.bid-engine.batch.window-ms:2}") long windowMs,
+            @Value("${livebid.bid-engine.batch.max-size:256}") int maxSize,
+            @Value("${livebid.bid-engine.batch.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.walletService = walletService;
+        this.journal = journal.getIfAvailable();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxSize = maxSize;
+        this.batchSize = DistributionSummary.builder("livebid.bids.batch.size")
+                .description("Bids written per group commit")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("livebid.bids.batch.flush")
+                .description("Time to write and commit one bid batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Thread.ofPlatform().name("bid-batch-flusher").start(this::run);
+    }
+
+    /**
+     * Queues an accepted bid whose {@code amount} is already reserved; the
+     * previous leader gets {@code previousPrice} back when it commits. Blocks while
+     * the queue is full, which pushes back on the shards instead of growing memory
+     * without bound.
+     */
+    public CompletableFuture<Void> submit(UUID bidId, UUID auctionId, UUID bidderId, long amount,
+            LocalDateTime timestamp, UUID previousLeaderId, long previousPrice, LocalDateTime endTime) {
+        PendingBid bid = new PendingBid(bidId, auctionId, bidderId, amount, timestamp, previousLeaderId,
+                previousPrice, endTime, new CompletableFuture<>());
+        enqueue(bid);
+        return bid.committed();
+    }
+
+    /**
+     * Accepts bids for an auction again after it was rejected. Bids queued before
+     * this call are still rejected.
+     */
+    public void reopen(UUID auctionId) {
+        enqueue(new Reopen(auctionId));
+    }
+
+    /**
+     * Called with each auction whose bids were rejected, after their reservations
+     * have been released.
+     */
+    public void onRejected(Consumer<UUID> listener) {
+        this.rejectionListener = listener;
+    }
+
+    private void run() {
+        List<Write> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Write next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Write> batch) {
+        List<PendingBid> bids = new ArrayList<>(batch.size());
+        List<PendingBid> stale = new ArrayList<>();
+        for (Write write : batch) {
+            switch (write) {
+                case Reopen reopen -> rejected.remove(reopen.auctionId());
+                case PendingBid bid -> (rejected.contains(bid.auctionId()) ? stale : bids).add(bid);
+            }
+        }
+        try {
+            if (!stale.isEmpty()) {
+                // Accepted against a book that is being reloaded; the listener already knows
+                reject(stale, null, false);
+            }
+            if (bids.isEmpty()) {
+                return;
+            }
+            if (persist(bids)) {
+                complete(bids);
+                return;
+            }
+            // A constraint violation: write each auction on its own so the others still commit
+            Map<UUID, List<PendingBid>> byAuction = new LinkedHashMap<>();
+            bids.forEach(bid -> byAuction.computeIfAbsent(bid.auctionId(), id -> new ArrayList<>()).add(bid));
+            for (List<PendingBid> auctionBids : byAuction.values()) {
+                if (byAuction.size() > 1 && persist(auctionBids)) {
+                    complete(auctionBids);
+                } else {
+                    rejected.add(auctionBids.get(0).auctionId());
+                    reject(auctionBids, new IllegalStateException("Bid violates a database constraint"), true);
+                }
+            }
+        } catch (ShutdownException e) {
+            int unwritten = bids.size() + stale.size();
+            log.error("Shutting down with {} accepted bids unwritten; the database was unavailable", unwritten,
+                    e.getCause());
+            IllegalStateException failed = new IllegalStateException("Bid could not be recorded", e.getCause());
+            bids.forEach(bid -> bid.committed().completeExceptionally(failed));
+            stale.forEach(bid -> bid.committed().completeExceptionally(failed));
+        }
+    }
+
+    /**
+     * Writes the bids, their leader updates and the refunds of replaced leaders in
+     * one transaction, retrying with backoff until it commits. Returns false if
+     * the bids violate a constraint, which no retry can fix.
+     */
+    private boolean persist(List<PendingBid> bids) {
+        List<Object[]> inserts = new ArrayList<>(bids.size());
+        // Only the last accepted bid per auction needs to reach the leader columns
+        Map<UUID, PendingBid> leaders = new LinkedHashMap<>();
+        for (PendingBid bid : bids) {
+            inserts.add(new Object[] { bid.bidId(), bid.auctionId(), bid.bidderId(), bid.amount(),
+                    Timestamp.valueOf(bid.timestamp()) });
+            leaders.put(bid.auctionId(), bid);
+        }
+        List<Object[]> updates = new ArrayList<>(leaders.size());
+        for (PendingBid bid : leaders.values()) {
+            updates.add(new Object[] { bid.amount(), bid.bidderId(), bid.bidId(), bid.auctionId(), bid.amount() });
+        }
+        // Summed per user; a TreeMap keeps user locks in id order
+        Map<UUID, Long> refunds = new TreeMap<>();
+        for (PendingBid bid : bids) {
+            if (bid.previousLeaderId() != null) {
+                refunds.merge(bid.previousLeaderId(), bid.previousPrice(), Long::sum);
+            }
+        }
+
+        try {
+            retrying("bid batch of " + bids.size(), () -> {
+                long start = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_BID_SQL, inserts);
+                    int[] updated = jdbcTemplate.batchUpdate(UPDATE_LEADER_SQL, updates);
+                    for (int i = 0; i < updated.length; i++) {
+                        if (updated[i] == 0) {
+                            // The book was behind the table; rejecting the auction reloads it
+                            throw new DataIntegrityViolationException(
+                                    "Auction " + updates.get(i)[3] + " already has a price at or above the bid");
+                        }
+                    }
+                    refunds.forEach(walletService::release);
+                });
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Bid batch of {} violates a constraint: {}", bids.size(), e.getMessage());
+            return false;
+        }
+        batchSize.record(bids.size());
+        return true;
+    }
+
+    private void complete(List<PendingBid> bids) {
+        if (journal != null) {
+            try {
+                for (PendingBid bid : bids) {
+                    journal.appendBid(bid.bidId(), bid.auctionId(), bid.bidderId(), bid.amount(), bid.timestamp());
+                }
+            } catch (RuntimeException e) {
+                // The bids are committed; only the journal is behind the database now
+                log.error("Bid journal is missing a committed batch of {}; clear livebid.journal.dir "
+                        + "to recover from the database", bids.size(), e);
+            }
+        }
+
+        for (PendingBid bid : bids) {
+            bid.committed().complete(null);
+            try {
+                eventPublisher.publishEvent(new BidPlacedEvent(bid.auctionId(), bid.amount(), bid.bidderId(),
+                        bid.previousLeaderId(), bid.bidId(), bid.timestamp(), bid.endTime()));
+            } catch (RuntimeException e) {
+                log.warn("Bid event listener failed for auction {}: {}", bid.auctionId(), e.getMessage());
+            }
+        }
+    }
+
+    // Returns the rejected bids' reservations, fails their callers and, if asked, has their auctions reloaded
+    private void reject(List<PendingBid> bids, RuntimeException cause, boolean notify) {
+        Map<UUID, Long> releases = new TreeMap<>();
+        Set<UUID> auctions = new LinkedHashSet<>();
+        for (PendingBid bid : bids) {
+            releases.merge(bid.bidderId(), bid.amount(), Long::sum);
+            auctions.add(bid.auctionId());
+        }
+        try {
+            retrying("release of " + bids.size() + " rejected bids",
+                    () -> transactionTemplate.executeWithoutResult(status -> releases.forEach(walletService::release)));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Could not release reservations of {} rejected bids", bids.size(), e);
+        }
+        log.error("Rejected {} accepted bids for auctions {}", bids.size(), auctions);
+        if (notify) {
+            // Before failing the callers, so a retried bid is sequenced against the reloaded book
+            auctions.forEach(auctionId -> {
+                try {
+                    rejectionListener.accept(auctionId);
+                } catch (RuntimeException e) {
+                    log.warn("Rejected-bid listener failed for auction {}: {}", auctionId, e.getMessage());
+                }
+            });
+        }
+        IllegalStateException failed = new IllegalStateException("Bid could not be recorded", cause);
+        bids.forEach(bid -> bid.committed().completeExceptionally(failed));
+    }
+
+    // Runs the work until it succeeds, backing off between attempts; constraint violations are not retried
+    private void retrying(String what, Runnable work) {
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1;; attempt++) {
+            try {
+                work.run();
+                return;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (abandoned) {
+                    throw new ShutdownException(e);
+                }
+                log.warn("Attempt {} of {} failed, retrying in {} ms: {}", attempt, what, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // Only shutdown interrupts the flusher, and it sets abandoned first
+                    throw new ShutdownException(e);
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void enqueue(Write write) {
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing bid", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (flusher.isAlive()) {
+            // Still retrying against an unavailable database; stop and report what is left
+            abandoned = true;
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private sealed interface Write permits PendingBid, Reopen {
+    }
+
+    private record PendingBid(UUID bidId, UUID auctionId, UUID bidderId, long amount, LocalDateTime timestamp,
+            UUID previousLeaderId, long previousPrice, LocalDateTime endTime, CompletableFuture<Void> committed)
+            implements Write {
+    }
+
+    private record Reopen(UUID auctionId) implements Write {
+    }
+
+    private static final class ShutdownException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ShutdownException(RuntimeException cause) {
+            super(cause);
+        }
+    }
+}
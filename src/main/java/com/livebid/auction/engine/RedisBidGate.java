@@ -0,0 +1,211 @@
+package com.livebid.auction.engine;
+
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.BidRejectedException;
+import com.livebid.auction.service.BidRules;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis-side pre-filter for bids. A Lua script checks LIVE/endTime/min-increment
+ * against a cached copy of each auction and atomically moves the cached price up,
+ * so stale bids in a bidding war are rejected before they open a Postgres
+ * transaction. The durable path stays authoritative; the gate fails open whenever
+ * Redis is unavailable or an auction is not cached.
+ */
+@Component
+public class RedisBidGate {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisBidGate.class);
+
+    /** Returned by {@link #tryAdvance} when the bid was not checked and must not be restored. */
+    public static final long UNCHECKED = -1;
+
+    private static final long PASSED = 1;
+    private static final long NOT_LIVE = 2;
+    private static final long ENDED = 3;
+    private static final long TOO_LOW = 4;
+    private static final Duration RETENTION_AFTER_END = Duration.ofHours(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AuctionRepository auctionRepository;
+    private final boolean enabled;
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> tryAdvanceScript = script("bid-gate-try-advance.lua", List.class);
+    private final RedisScript<Long> restoreScript = script("bid-gate-restore.lua", Long.class);
+    private final RedisScript<Long> seedScript = script("bid-gate-seed.lua", Long.class);
+    private final RedisScript<Long> advanceScript = script("bid-gate-advance.lua", Long.class);
+    private final RedisScript<Long> resetScript = script("bid-gate-reset.lua", Long.class);
+
+    public RedisBidGate(StringRedisTemplate redisTemplate, AuctionRepository auctionRepository,
+            @Value("${livebid.bid-gate.enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.auctionRepository = auctionRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rejects the bid if the cached book says it cannot win, otherwise claims the
+     * cached price for it.
+     *
+     * @return the cached price before this bid, or {@link #UNCHECKED}
+     */
+    public long tryAdvance(UUID auctionId, long amount) {
+        if (!enabled) {
+            return UNCHECKED;
+        }
+
+        List<?> result;
+        try {
+            result = redisTemplate.execute(tryAdvanceScript, List.of(key(auctionId)),
+                    Long.toString(amount), Long.toString(System.currentTimeMillis()));
+        } catch (DataAccessException e) {
+            log.debug("Bid gate unavailable, passing bid through: {}", e.getMessage());
+            return UNCHECKED;
+        }
+        if (result == null || result.size() < 2) {
+            return UNCHECKED;
+        }
+
+        long code = ((Number) result.get(0)).longValue();
+        long price = ((Number) result.get(1)).longValue();
+        if (code == PASSED) {
+            return price;
+        }
+        if (code == NOT_LIVE) {
+            throw new BidRejectedException("Auction is not live");
+        }
+        if (code == ENDED) {
+            throw new BidRejectedException("Auction has ended");
+        }
+        if (code == TOO_LOW) {
+            BidRules.checkAmount(price, amount);
+        }
+        return UNCHECKED;
+    }
+
+    /**
+     * Undoes {@link #tryAdvance} for a bid the durable path went on to reject. A
+     * claim that higher bids have since passed stays until those fail too, and
+     * the price then falls back past all of them to the last claim still in play.
+     */
+    public void restore(UUID auctionId, long amount, long previousPrice) {
+        if (!enabled || previousPrice == UNCHECKED) {
+            return;
+        }
+        try {
+            redisTemplate.execute(restoreScript, List.of(key(auctionId)),
+                    Long.toString(amount), Long.toString(previousPrice));
+        } catch (DataAccessException e) {
+            log.warn("Could not restore gate price for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the cached price up to a committed bid, e.g. one that arrived while the
+     * auction was not cached.
+     */
+    public void advance(UUID auctionId, long amount) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(advanceScript, List.of(key(auctionId)), Long.toString(amount));
+        } catch (DataAccessException e) {
+            log.debug("Could not advance gate price for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the cached price back to the committed one after bids that passed the
+     * gate could not be written.
+     */
+    public void reset(UUID auctionId, long committedPrice) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(resetScript, List.of(key(auctionId)), Long.toString(committedPrice));
+        } catch (DataAccessException e) {
+            log.warn("Could not reset gate price for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        seed(event.getAuctionId(), event.getCurrentPrice(), event.getEndTime());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionClosed(AuctionClosedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(key(event.getAuctionId()));
+        } catch (DataAccessException e) {
+            log.debug("Could not evict gate book for auction {}: {}", event.getAuctionId(), e.getMessage());
+        }
+    }
+
+    // Cold start: rebuild every LIVE auction's book from the auctions table
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<Auction> liveAuctions = auctionRepository.findByStatus(AuctionStatus.LIVE);
+        for (Auction auction : liveAuctions) {
+            seed(auction.getId(), auction.getCurrentPrice(), auction.getEndTime());
+        }
+        log.info("Seeded bid gate for {} live auctions", liveAuctions.size());
+    }
+
+    private void seed(UUID auctionId, long price, LocalDateTime endTime) {
+        if (!enabled) {
+            return;
+        }
+        long endMillis = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long ttlSeconds = Math.max(Duration.ofMillis(endMillis - System.currentTimeMillis())
+                .plus(RETENTION_AFTER_END).toSeconds(), 1);
+        try {
+            redisTemplate.execute(seedScript, List.of(key(auctionId)), AuctionStatus.LIVE.name(),
+                    Long.toString(endMillis), Long.toString(price), Long.toString(ttlSeconds));
+        } catch (DataAccessException e) {
+            log.warn("Could not seed bid gate for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    private static String key(UUID auctionId) {
+        return "auction:" + auctionId + ":book";
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/" + name));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -1,72 +1,99 @@
 package com.livebid.auction.event;
 
-import com.livebid.auction.model.Auction;
-import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.broadcast.AuctionStreams;
+import com.livebid.auction.broadcast.PriceTickConflator;
+import com.livebid.auction.engine.RedisBidGate;
+import com.livebid.auction.service.AuctionMetadataCache;
+import com.livebid.auction.service.AuctionMetadataCache.Metadata;
+import com.livebid.infrastructure.config.SideEffectExecutors;
+import com.livebid.infrastructure.messaging.TopicPublisher;
 import com.livebid.notification.service.NotificationService;
 import com.livebid.notification.service.NotificationService.NotificationCreatedEvent;
 import com.livebid.user.event.UserBalanceChangedEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.UUID;
 
+/**
+ * Pushes auction and balance changes to clients and writes notifications. Bid
+ * and balance side effects run after commit on {@link SideEffectExecutors}, so
+ * they never extend the bid transaction or roll it back.
+ */
 @Component
 public class AuctionEventListener {
 
-    private final SimpMessagingTemplate messagingTemplate;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TopicPublisher topicPublisher;
+    private final PriceTickConflator priceTicks;
+    private final AuctionStreams streams;
+    private final RedisBidGate bidGate;
     private final NotificationService notificationService;
-    private final AuctionRepository auctionRepository;
+    private final AuctionMetadataCache auctionMetadata;
+    private final SideEffectExecutors sideEffects;
 
-    public AuctionEventListener(SimpMessagingTemplate messagingTemplate,
-            RedisTemplate<String, Object> redisTemplate,
+    public AuctionEventListener(TopicPublisher topicPublisher,
+            PriceTickConflator priceTicks,
+            AuctionStreams streams,
+            RedisBidGate bidGate,
             NotificationService notificationService,
-            AuctionRepository auctionRepository) {
-        this.messagingTemplate = messagingTemplate;
-        this.redisTemplate = redisTemplate;
+            AuctionMetadataCache auctionMetadata,
+            SideEffectExecutors sideEffects) {
+        this.topicPublisher = topicPublisher;
+        this.priceTicks = priceTicks;
+        this.streams = streams;
+        this.bidGate = bidGate;
         this.notificationService = notificationService;
-        this.auctionRepository = auctionRepository;
+        this.auctionMetadata = auctionMetadata;
+        this.sideEffects = sideEffects;
     }
 
-    @EventListener
+    // fallbackExecution: the sequenced engine publishes after its own batch commit
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void handleBidPlaced(BidPlacedEvent event) {
-        // 1. Push to WebSocket clients
-        messagingTemplate.convertAndSend("/topic/auctions/" + event.getAuctionId(), event);
+        sideEffects.broadcast(() -> {
+            // 1. Push to WebSocket clients, conflated to the latest price per interval
+            priceTicks.offer(event);
 
-        // 2. Update Redis Cache
-        redisTemplate.opsForValue().set("auction:" + event.getAuctionId() + ":price", event.getNewPrice());
+            // 2. Keep the Redis bid gate's price in step with committed bids
+            bidGate.advance(event.getAuctionId(), event.getNewPrice());
+        });
 
         // 3. Notify previous leader they've been outbid
         if (event.getPreviousLeaderId() != null && !event.getPreviousLeaderId().equals(event.getNewLeaderId())) {
-            Auction auction = auctionRepository.findById(event.getAuctionId()).orElse(null);
-            if (auction != null) {
-                String message = "You've been outbid on \"" + auction.getTitle() + "\" - new price: $"
-                        + (event.getNewPrice() / 100.0);
-                notificationService.createNotification(
-                        event.getPreviousLeaderId(),
-                        "OUTBID",
-                        message,
-                        event.getAuctionId());
-            }
+            sideEffects.notifyUser(() -> notifyOutbid(event));
+        }
+    }
+
+    private void notifyOutbid(BidPlacedEvent event) {
+        Metadata auction = auctionMetadata.get(event.getAuctionId()).orElse(null);
+        if (auction != null) {
+            String message = "You've been outbid on \"" + auction.title() + "\" - new price: $"
+                    + (event.getNewPrice() / 100.0);
+            notificationService.createNotification(
+                    event.getPreviousLeaderId(),
+                    "OUTBID",
+                    message,
+                    event.getAuctionId());
         }
     }
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleAuctionClosed(AuctionClosedEvent event) {
-        // Broadcast to WebSocket
-        messagingTemplate.convertAndSend("/topic/auctions/" + event.getAuctionId(), event);
+        // Broadcast to WebSocket and SSE; the final price goes out first, ahead of the conflation interval
+        priceTicks.flush(event.getAuctionId());
+        topicPublisher.publish("/topic/auctions/" + event.getAuctionId(), event);
+        priceTicks.closed(event);
+        streams.closed(event);
 
-        Auction auction = auctionRepository.findById(event.getAuctionId()).orElse(null);
+        Metadata auction = auctionMetadata.get(event.getAuctionId()).orElse(null);
         if (auction == null)
             return;
 
         // Notify winner
         if (event.getWinnerId() != null) {
-            String winMessage = "Congratulations! You won \"" + auction.getTitle() + "\" for $"
+            String winMessage = "Congratulations! You won \"" + auction.title() + "\" for $"
                     + (event.getClosingPrice() / 100.0);
             notificationService.createNotification(
                     event.getWinnerId(),
@@ -76,14 +103,14 @@ public class AuctionEventListener {
         }
 
         // Notify seller
-        UUID sellerId = auction.getSellerId();
+        UUID sellerId = auction.sellerId();
         if (sellerId != null) {
             String saleMessage;
             if (event.getWinnerId() != null) {
-                saleMessage = "Your auction \"" + auction.getTitle() + "\" sold for $"
+                saleMessage = "Your auction \"" + auction.title() + "\" sold for $"
                         + (event.getClosingPrice() / 100.0);
             } else {
-                saleMessage = "Your auction \"" + auction.getTitle() + "\" ended with no bids";
+                saleMessage = "Your auction \"" + auction.title() + "\" ended with no bids";
             }
             notificationService.createNotification(
                     sellerId,
@@ -93,17 +120,23 @@ public class AuctionEventListener {
         }
     }
 
-    @EventListener
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void handleUserBalanceChanged(UserBalanceChangedEvent event) {
-        // Push balance update to user-specific topic
-        messagingTemplate.convertAndSend("/topic/users/" + event.getUserId(), event);
+        // Push balance update to user-specific topic, unless the user has no open session
+        String destination = "/topic/users/" + event.getUserId();
+        if (topicPublisher.hasAudience(destination)) {
+            sideEffects.push(event.getUserId(), () -> topicPublisher.publish(destination, event));
+        }
     }
 
+    // Notifications are written behind, outside any transaction, so push as soon as one is created
     @EventListener
     public void handleNotificationCreated(NotificationCreatedEvent event) {
         // Push notification to user-specific topic for real-time updates
-        messagingTemplate.convertAndSend(
-                "/topic/users/" + event.notification().getUserId() + "/notifications",
-                event.notification());
+        UUID userId = event.notification().getUserId();
+        String destination = "/topic/users/" + userId + "/notifications";
+        if (topicPublisher.hasAudience(destination)) {
+            sideEffects.push(userId, () -> topicPublisher.publish(destination, event.notification()));
+        }
     }
 }
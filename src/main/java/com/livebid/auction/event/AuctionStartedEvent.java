@@ -0,0 +1,17 @@
+package com.livebid.auction.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuctionStartedEvent {
+    private UUID auctionId;
+    private long currentPrice;
+    private LocalDateTime endTime;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -14,4 +15,7 @@ public class BidPlacedEvent {
     private long newPrice;
     private UUID newLeaderId;
     private UUID previousLeaderId; // For outbid notifications
+    private UUID bidId;
+    private LocalDateTime timestamp;
+    private LocalDateTime endTime; // Broadcasts stop conflating just before the close
 }
@@ -1,22 +1,29 @@
 package com.livebid.auction.model;
 
+import com.livebid.infrastructure.persistence.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "auctions")
+@Table(name = "auctions", indexes = {
+        // Closing sweeps: LIVE auctions by end time; activation: SCHEDULED auctions by start time
+        @Index(name = "idx_auctions_status_end_time", columnList = "status, end_time"),
+        @Index(name = "idx_auctions_status_start_time", columnList = "status, start_time"),
+        // Search index catch-up: auctions created since the last one
+        @Index(name = "idx_auctions_created_at", columnList = "created_at") })
 @Getter
 @Setter
 @NoArgsConstructor
 public class Auction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(nullable = false)
@@ -38,8 +45,10 @@ public class Auction {
     @Column(nullable = false)
     private AuctionStatus status;
 
+    @Column(name = "start_time")
     private LocalDateTime startTime;
 
+    @Column(name = "end_time")
     private LocalDateTime endTime;
 
     @Column(name = "current_leader_id")
@@ -51,6 +60,11 @@ public class Auction {
     @Column(name = "image_key")
     private String imageKey;
 
+    // Null on auctions created before the column existed
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
     @Version // Optimistic Locking
     private Long version;
 }
@@ -1,5 +1,6 @@
 package com.livebid.auction.model;
 
+import com.livebid.infrastructure.persistence.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,7 +16,7 @@ import java.util.UUID;
 public class AuctionSettlement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "auction_id", nullable = false, unique = true)
@@ -1,5 +1,6 @@
 package com.livebid.auction.model;
 
+import com.livebid.infrastructure.persistence.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,20 +10,23 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", indexes = {
+        // Keyset pages of one auction's history; id breaks timestamp ties
+        @Index(name = "idx_bids_auction_timestamp", columnList = "auction_id, timestamp, id"),
+        @Index(name = "idx_bids_auction_amount", columnList = "auction_id, amount, id") })
 @Getter
 @Setter
 @NoArgsConstructor
 public class Bid {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
-    @Column(nullable = false)
+    @Column(name = "auction_id", nullable = false)
     private UUID auctionId;
 
-    @Column(nullable = false)
+    @Column(name = "bidder_id", nullable = false)
     private UUID bidderId;
 
     @Column(nullable = false)
@@ -0,0 +1,42 @@
+package com.livebid.auction.model;
+
+import com.livebid.infrastructure.persistence.TimeOrderedId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A bidder's hidden maximum on one auction. The whole maximum stays reserved in
+ * the bidder's wallet while the proxy is active.
+ */
+@Entity
+@Table(name = "proxy_bids", uniqueConstraints = @UniqueConstraint(columnNames = { "auction_id", "bidder_id" }))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProxyBid {
+
+    @Id
+    @TimeOrderedId
+    private UUID id;
+
+    @Column(name = "auction_id", nullable = false)
+    private UUID auctionId;
+
+    @Column(name = "bidder_id", nullable = false)
+    private UUID bidderId;
+
+    @Column(nullable = false)
+    private long maxAmount;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    // Earlier maximum wins a tie
+    @Column(nullable = false)
+    private LocalDateTime placedAt;
+}
@@ -20,15 +20,24 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
     @Query("SELECT a FROM Auction a WHERE a.id = :id")
     Optional<Auction> findByIdWithLock(@Param("id") UUID id);
 
+    // LIVE auctions ending before :now; pass a future instant to also get those about to end
     @Query("SELECT a FROM Auction a WHERE a.status = 'LIVE' AND a.endTime < :now")
     List<Auction> findExpiredLiveAuctions(@Param("now") java.time.LocalDateTime now);
 
     List<Auction> findBySellerId(UUID sellerId);
 
+    // Rows of [id, currentPrice]; checks recovered bid books without loading whole auctions
+    @Query("SELECT a.id, a.currentPrice FROM Auction a WHERE a.status = 'LIVE'")
+    List<Object[]> findLivePrices();
+
     @Modifying
     @Query("UPDATE Auction a SET a.status = 'CLOSING' WHERE a.id = :id AND a.status = 'LIVE' AND a.endTime < :now")
     int updateStatusToClosing(@Param("id") UUID id, @Param("now") java.time.LocalDateTime now);
 
+    // Not by id: rows from before time-ordered ids have random ids that sort after any recent one
+    @Query("SELECT a FROM Auction a WHERE a.createdAt > :after")
+    List<Auction> findCreatedAfter(@Param("after") java.time.LocalDateTime after);
+
     // Search methods
     @Query("SELECT a FROM Auction a WHERE (LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%')))")
     List<Auction> searchByTitleOrDescription(@Param("query") String query);
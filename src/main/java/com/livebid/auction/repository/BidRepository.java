@@ -1,10 +1,17 @@
 package com.livebid.auction.repository;
 
 import com.livebid.auction.model.Bid;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 import java.util.UUID;
 
 public interface BidRepository extends JpaRepository<Bid, UUID> {
     List<Bid> findByBidderId(UUID bidderId);
+
+    // Keyset scroll; sorted by timestamp or amount, with id as the tie-breaker
+    Window<Bid> findByAuctionId(UUID auctionId, ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,14 @@
+package com.livebid.auction.repository;
+
+import com.livebid.auction.model.ProxyBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProxyBidRepository extends JpaRepository<ProxyBid, UUID> {
+    List<ProxyBid> findByAuctionIdAndActiveTrue(UUID auctionId);
+
+    Optional<ProxyBid> findByAuctionIdAndBidderId(UUID auctionId, UUID bidderId);
+}
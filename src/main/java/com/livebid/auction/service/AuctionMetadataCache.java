@@ -0,0 +1,62 @@
+package com.livebid.auction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.auction.repository.AuctionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Near-cache of the auction fields that never change after creation, for code
+ * that needs a title or seller on every bid or close. Bounded by size and
+ * expiring after {@code livebid.auction-metadata.ttl}; {@link AuctionService}
+ * drops an entry whenever it writes the auction's lifecycle, so a stale entry
+ * can only live on another node, and only until it expires.
+ */
+@Component
+public class AuctionMetadataCache {
+
+    private final AuctionRepository auctionRepository;
+    private final Cache<UUID, Metadata> metadata;
+
+    public AuctionMetadataCache(AuctionRepository auctionRepository, MeterRegistry meterRegistry,
+            @Value("${livebid.auction-metadata.max-size:10000}") long maxSize,
+            @Value("${livebid.auction-metadata.ttl:30m}") Duration ttl) {
+        this.auctionRepository = auctionRepository;
+        this.metadata = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, metadata, "auctionMetadata");
+        Gauge.builder("livebid.auction-metadata.hit-ratio", metadata, cache -> cache.stats().hitRate())
+                .description("Share of auction metadata lookups answered without a query")
+                .register(meterRegistry);
+    }
+
+    // Unknown auctions are not cached, so one created on another node is found on the next lookup
+    public Optional<Metadata> get(UUID auctionId) {
+        return Optional.ofNullable(metadata.get(auctionId, id -> auctionRepository.findById(id)
+                .map(auction -> new Metadata(auction.getSellerId(), auction.getTitle()))
+                .orElse(null)));
+    }
+
+    // For callers that already read the auction and want the next lookup to hit
+    public void put(UUID auctionId, Metadata auction) {
+        metadata.put(auctionId, auction);
+    }
+
+    public void invalidate(UUID auctionId) {
+        metadata.invalidate(auctionId);
+    }
+
+    public record Metadata(UUID sellerId, String title) {
+    }
+}
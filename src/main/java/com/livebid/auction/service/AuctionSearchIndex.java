@@ -0,0 +1,476 @@
+package com.livebid.auction.service;
+
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over auction titles and descriptions, so search no
+ * longer runs a {@code LIKE '%q%'} scan of the whole table. Text is lower-cased
+ * and split on anything that is not a letter or digit; tokens shorter than
+ * {@value #MIN_TOKEN} characters are not indexed. A query matches auctions that
+ * contain every query token, with the last token also matching as a prefix so
+ * results follow the search box as the user types. Matches are ranked by
+ * summed token rarity, a title hit counting double, newest first on ties.
+ *
+ * <p>Postings are int arrays of per-node document numbers appended in creation
+ * order, so they stay sorted without re-sorting. Titles and descriptions never
+ * change after creation, so only new auctions add postings; status changes only
+ * touch a byte per auction, and only ever move it forward. The index is built
+ * from the table on startup, off the startup thread and retried until it
+ * succeeds; until it is ready {@link #isReady()} is false and callers fall back
+ * to the database. A periodic catch-up adds auctions created on other nodes and
+ * re-reads the status of auctions that started or ended recently, so status
+ * changes made elsewhere reach the index within one catch-up interval. Callers
+ * still re-check status against the rows they load.
+ */
+@Component
+public class AuctionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionSearchIndex.class);
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN = 2;
+    private static final AuctionStatus[] STATUSES = AuctionStatus.values();
+    private static final String REBUILD_SQL = "SELECT id, title, description, status FROM auctions";
+    // Activations and closings since :since, each read through its (status, time) index
+    private static final String RECENT_STATUS_SQL = "SELECT id, status FROM auctions "
+            + "WHERE status = 'LIVE' AND start_time > ? "
+            + "UNION ALL SELECT id, status FROM auctions WHERE status IN ('CLOSING', 'CLOSED') AND end_time > ?";
+    // Absorbs clock skew between nodes
+    private static final long CATCH_UP_OVERLAP_MS = 60_000;
+    // How long after its start or end time an auction's status is still re-read, for activations or closings that lag
+    private static final long STATUS_WINDOW_MS = 600_000;
+    private static final long REBUILD_RETRY_MAX_MS = 60_000;
+
+    private final AuctionRepository auctionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer queryTimer;
+    private final int maxResults;
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+    private volatile long lastCatchUp;
+
+    public AuctionSearchIndex(AuctionRepository auctionRepository, JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry, @Value("${livebid.search.max-results:100}") int maxResults) {
+        this.auctionRepository = auctionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxResults = maxResults;
+        this.queryTimer = Timer.builder("livebid.search.query")
+                .description("Time to answer a search from the in-memory index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("livebid.search.indexed", this, search -> search.index.size())
+                .description("Auctions in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the query has any indexed terms; words shorter than the shortest
+     * indexed token never match, so such queries are left to the database.
+     */
+    public boolean canSearch(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Ids of the best {@code max-results} auctions matching {@code query}, best
+     * first, optionally only those the index last saw in {@code status}.
+     */
+    public List<UUID> search(String query, AuctionStatus status) {
+        return queryTimer.record(() -> index.search(tokenize(query), status, maxResults));
+    }
+
+    public void add(UUID auctionId, String title, String description, AuctionStatus status) {
+        index.add(auctionId, title, description, status);
+    }
+
+    public void statusChanged(UUID auctionId, AuctionStatus status) {
+        index.statusChanged(auctionId, status);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        statusChanged(event.getAuctionId(), AuctionStatus.LIVE);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionClosed(AuctionClosedEvent event) {
+        statusChanged(event.getAuctionId(), AuctionStatus.CLOSED);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(() -> {
+            long backoff = 1_000;
+            while (true) {
+                try {
+                    rebuild();
+                    return;
+                } catch (RuntimeException e) {
+                    // Searches keep falling back to the database meanwhile
+                    log.warn("Search index build failed, retrying in {} ms: {}", backoff, e.getMessage());
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, REBUILD_RETRY_MAX_MS);
+            }
+        });
+    }
+
+    /**
+     * Replaces the index with one read from the {@code auctions} table. Auctions
+     * created while it runs are added by the next catch-up.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Index rebuilt = new Index();
+        jdbcTemplate.query(REBUILD_SQL, rs -> {
+            rebuilt.add(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("description"),
+                    AuctionStatus.valueOf(rs.getString("status")));
+        });
+        index = rebuilt;
+        lastCatchUp = started;
+        ready = true;
+        log.info("Search index built over {} auctions in {} ms", rebuilt.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${livebid.search.catch-up-interval-ms:10000}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        for (Auction auction : auctionRepository.findCreatedAfter(at(lastCatchUp - CATCH_UP_OVERLAP_MS))) {
+            add(auction.getId(), auction.getTitle(), auction.getDescription(), auction.getStatus());
+            statusChanged(auction.getId(), auction.getStatus());
+        }
+        Timestamp since = Timestamp.valueOf(at(lastCatchUp - STATUS_WINDOW_MS));
+        jdbcTemplate.query(RECENT_STATUS_SQL, rs -> {
+            statusChanged(rs.getObject("id", UUID.class), AuctionStatus.valueOf(rs.getString("status")));
+        }, since, since);
+        lastCatchUp = started;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN) {
+                tokens.add(token);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static LocalDateTime at(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * One generation of the index. Readers share the lock; adding an auction
+     * takes it exclusively for the few appends involved.
+     */
+    private static final class Index {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<UUID, Integer> docs = new HashMap<>();
+        private final List<UUID> ids = new ArrayList<>();
+        private byte[] statuses = new byte[1024];
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return ids.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(UUID auctionId, String title, String description, AuctionStatus status) {
+            // Title hits win over description hits of the same token
+            Map<String, Boolean> fields = new LinkedHashMap<>();
+            tokenize(description).forEach(token -> fields.put(token, false));
+            tokenize(title).forEach(token -> fields.put(token, true));
+
+            lock.writeLock().lock();
+            try {
+                if (docs.containsKey(auctionId)) {
+                    return;
+                }
+                int doc = ids.size();
+                ids.add(auctionId);
+                docs.put(auctionId, doc);
+                if (doc == statuses.length) {
+                    statuses = Arrays.copyOf(statuses, doc * 2);
+                }
+                statuses[doc] = (byte) status.ordinal();
+                fields.forEach((token, inTitle) -> terms.computeIfAbsent(token, t -> new Postings())
+                        .append(doc << 1 | (inTitle ? 1 : 0)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Statuses only advance, so a stale read never moves one back
+        void statusChanged(UUID auctionId, AuctionStatus status) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = docs.get(auctionId);
+                if (doc != null && statuses[doc] < status.ordinal()) {
+                    statuses[doc] = (byte) status.ordinal();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<UUID> search(List<String> tokens, AuctionStatus status, int limit) {
+            if (tokens.isEmpty()) {
+                return List.of();
+            }
+            lock.readLock().lock();
+            try {
+                int total = ids.size();
+                List<Term> matched = new ArrayList<>(tokens.size());
+                for (int i = 0; i < tokens.size(); i++) {
+                    String token = tokens.get(i);
+                    Term term = i == tokens.size() - 1 ? prefix(token, total) : exact(token, total);
+                    if (term.size == 0) {
+                        return List.of();
+                    }
+                    matched.add(term);
+                }
+                matched.sort(Comparator.comparingInt(term -> term.size));
+
+                Term result = matched.get(0);
+                for (int i = 1; i < matched.size() && result.size > 0; i++) {
+                    result = result.intersect(matched.get(i));
+                }
+                return top(result, status, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<UUID> top(Term result, AuctionStatus status, int limit) {
+            // Min-heap of positions in result, worst on top; walking newest first, a tie never displaces anything
+            int[] heap = new int[limit];
+            int size = 0;
+            for (int i = result.size - 1; i >= 0; i--) {
+                if (status != null && statuses[result.docs[i]] != status.ordinal()) {
+                    continue;
+                }
+                if (size < limit) {
+                    heap[size] = i;
+                    siftUp(result, heap, size++);
+                } else if (result.scores[i] > result.scores[heap[0]]) {
+                    heap[0] = i;
+                    siftDown(result, heap, size);
+                }
+            }
+            UUID[] ranked = new UUID[size];
+            while (size > 0) {
+                ranked[size - 1] = ids.get(result.docs[heap[0]]);
+                heap[0] = heap[--size];
+                siftDown(result, heap, size);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        private static void siftUp(Term result, int[] heap, int at) {
+            while (at > 0 && worse(result, heap[at], heap[(at - 1) / 2])) {
+                swap(heap, at, (at - 1) / 2);
+                at = (at - 1) / 2;
+            }
+        }
+
+        private static void siftDown(Term result, int[] heap, int size) {
+            int at = 0;
+            while (2 * at + 1 < size) {
+                int child = 2 * at + 1;
+                if (child + 1 < size && worse(result, heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!worse(result, heap[child], heap[at])) {
+                    return;
+                }
+                swap(heap, at, child);
+                at = child;
+            }
+        }
+
+        // Lower score, then older
+        private static boolean worse(Term result, int a, int b) {
+            return result.scores[a] < result.scores[b]
+                    || result.scores[a] == result.scores[b] && result.docs[a] < result.docs[b];
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int held = heap[a];
+            heap[a] = heap[b];
+            heap[b] = held;
+        }
+
+        private Term exact(String token, int total) {
+            Postings postings = terms.get(token);
+            return postings == null ? Term.EMPTY : postings.toTerm(total);
+        }
+
+        // Every indexed token starting with `prefix`, each auction scored by its best one
+        private Term prefix(String prefix, int total) {
+            Map<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.size() <= 1) {
+                return range.isEmpty() ? Term.EMPTY : range.values().iterator().next().toTerm(total);
+            }
+            // Short prefixes can cover hundreds of tokens, so merge through one slot per auction
+            float[] best = new float[total];
+            int matched = 0;
+            for (Postings postings : range.values()) {
+                float idf = postings.idf(total);
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.entries[i] >>> 1;
+                    float score = (postings.entries[i] & 1) == 1 ? 2 * idf : idf;
+                    if (best[doc] == 0) {
+                        matched++;
+                    }
+                    best[doc] = Math.max(best[doc], score);
+                }
+            }
+            Term union = new Term(matched);
+            for (int doc = 0; doc < total; doc++) {
+                if (best[doc] > 0) {
+                    union.docs[union.size] = doc;
+                    union.scores[union.size++] = best[doc];
+                }
+            }
+            return union;
+        }
+    }
+
+    /**
+     * Postings of one token: {@code doc << 1 | inTitle}, ascending by doc.
+     */
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        void append(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        float idf(int total) {
+            return (float) Math.log(1 + (double) total / size);
+        }
+
+        Term toTerm(int total) {
+            float idf = idf(total);
+            Term term = new Term(size);
+            for (int i = 0; i < size; i++) {
+                term.docs[i] = entries[i] >>> 1;
+                term.scores[i] = (entries[i] & 1) == 1 ? 2 * idf : idf;
+            }
+            term.size = size;
+            return term;
+        }
+    }
+
+    /**
+     * Auctions matching a query so far, ascending by doc, with their scores.
+     */
+    private static final class Term {
+
+        static final Term EMPTY = new Term(0);
+
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Term(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        // Walks the smaller side and gallops through the larger one
+        Term intersect(Term other) {
+            Term small = size <= other.size ? this : other;
+            Term large = small == this ? other : this;
+            Term out = new Term(small.size);
+            int from = 0;
+            for (int i = 0; i < small.size && from < large.size; i++) {
+                int doc = small.docs[i];
+                int step = 1;
+                int hi = from;
+                while (hi < large.size && large.docs[hi] < doc) {
+                    from = hi + 1;
+                    hi += step;
+                    step <<= 1;
+                }
+                int at = Arrays.binarySearch(large.docs, from, Math.min(hi + 1, large.size), doc);
+                if (at >= 0) {
+                    out.docs[out.size] = doc;
+                    out.scores[out.size++] = small.scores[i] + large.scores[at];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -6,19 +6,27 @@ import com.livebid.auction.model.Auction;
 import com.livebid.auction.model.AuctionSettlement;
 import com.livebid.auction.model.AuctionStatus;
 import com.livebid.auction.model.Bid;
+import com.livebid.auction.model.ProxyBid;
 import com.livebid.auction.repository.AuctionRepository;
 import com.livebid.auction.repository.AuctionSettlementRepository;
 import com.livebid.auction.repository.BidRepository;
-import com.livebid.user.model.User;
+import com.livebid.auction.repository.ProxyBidRepository;
 import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.WalletService;
 import com.livebid.auction.event.BidPlacedEvent;
-import com.livebid.user.event.UserBalanceChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.AuctionStartedEvent;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AuctionService {
@@ -29,17 +37,37 @@ public class AuctionService {
     private final ApplicationEventPublisher eventPublisher;
     private final AuctionSettlementRepository auctionSettlementRepository;
     private final com.livebid.image.service.ImageService imageService;
+    private final WalletService walletService;
+    private final ProxyBidRepository proxyBidRepository;
+    private final AuctionMetadataCache auctionMetadata;
+    private final AuctionSearchIndex searchIndex;
+    private final Timer lockHoldTimer;
+    private final Timer closeLag;
 
     public AuctionService(AuctionRepository auctionRepository, UserRepository userRepository,
             BidRepository bidRepository, ApplicationEventPublisher eventPublisher,
             AuctionSettlementRepository auctionSettlementRepository,
-            com.livebid.image.service.ImageService imageService) {
+            com.livebid.image.service.ImageService imageService,
+            WalletService walletService, ProxyBidRepository proxyBidRepository,
+            AuctionMetadataCache auctionMetadata, AuctionSearchIndex searchIndex, MeterRegistry meterRegistry) {
         this.auctionRepository = auctionRepository;
         this.userRepository = userRepository;
         this.bidRepository = bidRepository;
         this.eventPublisher = eventPublisher;
         this.auctionSettlementRepository = auctionSettlementRepository;
         this.imageService = imageService;
+        this.walletService = walletService;
+        this.proxyBidRepository = proxyBidRepository;
+        this.auctionMetadata = auctionMetadata;
+        this.searchIndex = searchIndex;
+        this.lockHoldTimer = Timer.builder("livebid.bids.lock.hold")
+                .description("Time a bid holds the auction row lock, from acquisition to commit or rollback")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.closeLag = Timer.builder("livebid.auctions.close.lag")
+                .description("Time from an auction's end time until it starts closing")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -68,6 +96,9 @@ public class AuctionService {
         auction.setImageKey(request.imageKey());
 
         Auction savedAuction = auctionRepository.save(auction);
+        auctionMetadata.invalidate(savedAuction.getId());
+        searchIndex.add(savedAuction.getId(), savedAuction.getTitle(), savedAuction.getDescription(),
+                savedAuction.getStatus());
         return mapToResponse(savedAuction);
     }
 
@@ -111,6 +142,15 @@ public class AuctionService {
         java.util.List<Auction> auctions;
         if (query == null || query.isBlank()) {
             auctions = status == null ? auctionRepository.findAll() : auctionRepository.findByStatus(status);
+        } else if (searchIndex.isReady() && searchIndex.canSearch(query)) {
+            // Ranked ids from the index; the index may lag on status, so check it against the rows
+            java.util.List<UUID> ids = searchIndex.search(query, status);
+            java.util.Map<UUID, Auction> found = auctionRepository.findAllById(ids).stream()
+                    .collect(java.util.stream.Collectors.toMap(Auction::getId, auction -> auction));
+            auctions = ids.stream()
+                    .map(found::get)
+                    .filter(auction -> auction != null && (status == null || auction.getStatus() == status))
+                    .collect(java.util.stream.Collectors.toList());
         } else if (status == null) {
             auctions = auctionRepository.searchByTitleOrDescription(query);
         } else {
@@ -149,6 +189,10 @@ public class AuctionService {
 
         auction.setStatus(AuctionStatus.LIVE);
         auctionRepository.save(auction);
+        auctionMetadata.invalidate(auctionId);
+
+        eventPublisher.publishEvent(
+                new AuctionStartedEvent(auctionId, auction.getCurrentPrice(), auction.getEndTime()));
     }
 
     @Transactional
@@ -156,60 +200,154 @@ public class AuctionService {
 
         Auction auction = auctionRepository.findByIdWithLock(auctionId)
                 .orElseThrow(() -> new IllegalStateException("Auction not found"));
+        timeLockHold();
+
+        if (auction.getStatus() != AuctionStatus.LIVE) {
+            throw new BidRejectedException("Auction is not live");
+        }
+
+        if (java.time.LocalDateTime.now().isAfter(auction.getEndTime())) {
+            throw new BidRejectedException("Auction has ended");
+        }
+
+        BidRules.checkAmount(auction.getCurrentPrice(), amount);
+
+        java.util.List<ProxyBid> proxies = proxyBidRepository.findByAuctionIdAndActiveTrue(auctionId);
+        if (hasProxy(proxies, bidderId)) {
+            throw new IllegalArgumentException("You have a maximum bid on this auction; raise it instead");
+        }
+
+        // Capture previous leader for outbid notification
+        UUID previousLeaderId = auction.getCurrentLeaderId();
 
-        User bidder = userRepository.findByIdWithLock(bidderId)
-                .orElseThrow(() -> new IllegalStateException("Bidder not found"));
+        // A leader bidding by proxy holds their whole maximum; proxy resolution releases it
+        walletService.reserveForBid(bidderId, amount, hasProxy(proxies, previousLeaderId) ? null : previousLeaderId,
+                auction.getCurrentPrice());
+
+        recordBid(auction, bidderId, amount, previousLeaderId);
+
+        // Registered maximums get their chance to answer the new price straight away
+        resolveProxyBids(auction, proxies);
+    }
+
+    /**
+     * Registers or raises a hidden maximum. The maximum is reserved once, and
+     * competing proxies are resolved to their final price in this transaction
+     * instead of one bid per increment.
+     */
+    @Transactional
+    public void placeProxyBid(UUID auctionId, UUID bidderId, long maxAmount) {
+
+        Auction auction = auctionRepository.findByIdWithLock(auctionId)
+                .orElseThrow(() -> new IllegalStateException("Auction not found"));
+        timeLockHold();
 
         if (auction.getStatus() != AuctionStatus.LIVE) {
-            throw new IllegalStateException("Auction is not live");
+            throw new BidRejectedException("Auction is not live");
         }
 
         if (java.time.LocalDateTime.now().isAfter(auction.getEndTime())) {
-            throw new IllegalStateException("Auction has ended");
+            throw new BidRejectedException("Auction has ended");
         }
 
-        if (amount <= auction.getCurrentPrice()) {
-            throw new IllegalArgumentException("Bid must be higher than current price: " + auction.getCurrentPrice());
+        ProxyBid proxy = proxyBidRepository.findByAuctionIdAndBidderId(auctionId, bidderId).orElse(null);
+        long alreadyReserved;
+        if (proxy != null && proxy.isActive()) {
+            if (maxAmount <= proxy.getMaxAmount()) {
+                throw new IllegalArgumentException(
+                        "Maximum bid must be higher than your current maximum: " + proxy.getMaxAmount());
+            }
+            alreadyReserved = proxy.getMaxAmount();
+        } else if (bidderId.equals(auction.getCurrentLeaderId())) {
+            if (maxAmount <= auction.getCurrentPrice()) {
+                throw new IllegalArgumentException(
+                        "Maximum bid must be higher than your leading bid: " + auction.getCurrentPrice());
+            }
+            alreadyReserved = auction.getCurrentPrice();
+        } else {
+            BidRules.checkAmount(auction.getCurrentPrice(), maxAmount);
+            alreadyReserved = 0;
         }
 
-        // Minimum increment: max(5% of current price, $1)
-        long minIncrement = Math.max((long) (auction.getCurrentPrice() * 0.05), 100);
-        long minBid = auction.getCurrentPrice() + minIncrement;
-        if (amount < minBid) {
-            throw new IllegalArgumentException("Minimum bid is " + minBid + " (current: " + auction.getCurrentPrice()
-                    + " + increment: " + minIncrement + ")");
+        walletService.reserve(bidderId, maxAmount - alreadyReserved);
+
+        if (proxy == null) {
+            proxy = new ProxyBid();
+            proxy.setAuctionId(auctionId);
+            proxy.setBidderId(bidderId);
         }
+        proxy.setMaxAmount(maxAmount);
+        proxy.setActive(true);
+        proxy.setPlacedAt(java.time.LocalDateTime.now());
+        proxyBidRepository.save(proxy);
+
+        resolveProxyBids(auction, proxyBidRepository.findByAuctionIdAndActiveTrue(auctionId));
+    }
+
+    private static boolean hasProxy(java.util.List<ProxyBid> proxies, UUID bidderId) {
+        return bidderId != null && proxies.stream().anyMatch(p -> p.getBidderId().equals(bidderId));
+    }
 
-        if (bidder.getAvailableBalance() < amount) {
-            throw new IllegalArgumentException("Insufficient funds");
+    private void resolveProxyBids(Auction auction, java.util.List<ProxyBid> active) {
+        ProxyBidResolver.Resolution resolution = ProxyBidResolver
+                .resolve(auction.getCurrentPrice(), auction.getCurrentLeaderId(), active).orElse(null);
+        if (resolution == null) {
+            return;
         }
 
-        // Capture previous leader for outbid notification
         UUID previousLeaderId = auction.getCurrentLeaderId();
+        boolean leaderChanged = !resolution.leaderId().equals(previousLeaderId);
 
-        bidder.setAvailableBalance(bidder.getAvailableBalance() - amount);
-        bidder.setReservedBalance(bidder.getReservedBalance() + amount);
-        userRepository.save(bidder);
-        eventPublisher.publishEvent(
-                new UserBalanceChangedEvent(bidderId, bidder.getAvailableBalance(), bidder.getReservedBalance()));
-
-        if (previousLeaderId != null) {
-            User prevLeader = userRepository.findByIdWithLock(previousLeaderId)
-                    .orElseThrow(() -> new IllegalStateException("Data corruption: Leader ID exists but User missing"));
-
-            long refundAmount = auction.getCurrentPrice();
-            prevLeader.setReservedBalance(prevLeader.getReservedBalance() - refundAmount);
-            prevLeader.setAvailableBalance(prevLeader.getAvailableBalance() + refundAmount);
-            userRepository.save(prevLeader);
-            eventPublisher.publishEvent(new UserBalanceChangedEvent(previousLeaderId,
-                    prevLeader.getAvailableBalance(), prevLeader.getReservedBalance()));
+        for (ProxyBid exhausted : resolution.exhausted()) {
+            exhausted.setActive(false);
+            proxyBidRepository.save(exhausted);
+            walletService.release(exhausted.getBidderId(), exhausted.getMaxAmount());
+        }
+
+        // A manual leader being overtaken gets their bid amount back
+        if (leaderChanged && previousLeaderId != null && !hasProxy(active, previousLeaderId)) {
+            walletService.release(previousLeaderId, auction.getCurrentPrice());
+        }
+
+        if (leaderChanged || resolution.price() != auction.getCurrentPrice()) {
+            recordBid(auction, resolution.leaderId(), resolution.price(), previousLeaderId);
         }
+    }
 
+    // Row locks are released when the transaction ends
+    private void timeLockHold() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long acquired = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Ahead of after-commit event listeners, which run once the lock is gone
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                lockHoldTimer.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    lockHoldTimer.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private void recordBid(Auction auction, UUID bidderId, long amount, UUID previousLeaderId) {
         Bid bid = new Bid();
-        bid.setAuctionId(auctionId);
+        bid.setAuctionId(auction.getId());
         bid.setBidderId(bidderId);
         bid.setAmount(amount);
-        bid.setTimestamp(java.time.LocalDateTime.now());
+        // Postgres keeps microseconds; truncating keeps in-memory and stored cursors identical
+        bid.setTimestamp(java.time.LocalDateTime.now().truncatedTo(java.time.temporal.ChronoUnit.MICROS));
         bidRepository.save(bid);
 
         auction.setCurrentPrice(amount);
@@ -218,50 +356,69 @@ public class AuctionService {
         auctionRepository.save(auction);
 
         // event for real-time updates
-        eventPublisher.publishEvent(new BidPlacedEvent(auctionId, amount, bidderId, previousLeaderId));
+        eventPublisher.publishEvent(new BidPlacedEvent(auction.getId(), amount, bidderId, previousLeaderId,
+                bid.getId(), bid.getTimestamp(), auction.getEndTime()));
     }
 
+    /**
+     * Closes the auction if it is LIVE and past its end time. Returns whether this
+     * call closed it.
+     */
     @Transactional
-    public void closeAuction(UUID auctionId) {
+    public boolean closeAuction(UUID auctionId) {
 
-        int updated = auctionRepository.updateStatusToClosing(auctionId, java.time.LocalDateTime.now());
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        int updated = auctionRepository.updateStatusToClosing(auctionId, now);
         if (updated == 0) {
-            return;
+            return false;
         }
 
         Auction auction = auctionRepository.findByIdWithLock(auctionId)
                 .orElseThrow(() -> new IllegalStateException("Auction not found"));
+        recordCloseLag(auction.getEndTime(), now);
+
+        releaseProxyBids(auction);
 
         // If there are no bids, close
         if (auction.getCurrentLeaderId() == null) {
             auction.setStatus(AuctionStatus.CLOSED);
             auctionRepository.save(auction);
-            return;
+            // Watchers, the search index and the seller still hear of it, with no winner
+            eventPublisher.publishEvent(new AuctionClosedEvent(auctionId, null, auction.getCurrentPrice()));
+            return true;
         }
-        User winner = userRepository.findByIdWithLock(auction.getCurrentLeaderId())
-                .orElseThrow(() -> new IllegalStateException("Winner not found"));
-
-        User seller = userRepository.findByIdWithLock(auction.getSellerId())
-                .orElseThrow(() -> new IllegalStateException("Seller not found"));
-
+        UUID winnerId = auction.getCurrentLeaderId();
         long closingPrice = auction.getCurrentPrice();
-        if (winner.getReservedBalance() < closingPrice) {
-            throw new IllegalStateException("Winner has insufficient funds");
-        }
-
-        winner.setReservedBalance(winner.getReservedBalance() - closingPrice);
-        userRepository.save(winner);
+        walletService.capture(winnerId, closingPrice);
+        walletService.credit(auction.getSellerId(), closingPrice);
 
-        seller.setAvailableBalance(seller.getAvailableBalance() + closingPrice);
-        userRepository.save(seller);
-
-        AuctionSettlement auctionSettlement = new AuctionSettlement(auctionId, winner.getId(),
-                seller.getId(), closingPrice);
+        AuctionSettlement auctionSettlement = new AuctionSettlement(auctionId, winnerId,
+                auction.getSellerId(), closingPrice);
         auctionSettlementRepository.save(auctionSettlement);
 
         auction.setStatus(AuctionStatus.CLOSED);
         auctionRepository.save(auction);
 
-        eventPublisher.publishEvent(new AuctionClosedEvent(auctionId, winner.getId(), closingPrice));
+        eventPublisher.publishEvent(new AuctionClosedEvent(auctionId, winnerId, closingPrice));
+        return true;
+    }
+
+    // Shared with BulkAuctionCloser so both closing modes feed one timer
+    void recordCloseLag(java.time.LocalDateTime endTime, java.time.LocalDateTime now) {
+        closeLag.record(java.time.Duration.between(endTime, now));
+    }
+
+    // The winner keeps only the closing price reserved; anything above it goes back
+    private void releaseProxyBids(Auction auction) {
+        for (ProxyBid proxy : proxyBidRepository.findByAuctionIdAndActiveTrue(auction.getId())) {
+            long held = proxy.getBidderId().equals(auction.getCurrentLeaderId())
+                    ? proxy.getMaxAmount() - auction.getCurrentPrice()
+                    : proxy.getMaxAmount();
+            if (held > 0) {
+                walletService.release(proxy.getBidderId(), held);
+            }
+            proxy.setActive(false);
+            proxyBidRepository.save(proxy);
+        }
     }
 }
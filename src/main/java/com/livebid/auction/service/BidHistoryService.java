@@ -0,0 +1,254 @@
+package com.livebid.auction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.auction.dto.BidHistoryResponse;
+import com.livebid.auction.dto.BidResponse;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.event.BidPlacedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.model.Bid;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.repository.BidRepository;
+import com.livebid.infrastructure.exception.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bid history with keyset pagination. Pages are ordered by timestamp or amount
+ * with the bid id as tie-breaker, and the cursor carries the last row's keys, so
+ * every page is an index range scan regardless of how many bids came before.
+ *
+ * <p>The newest {@code livebid.bid-history.recent-size} bids of each LIVE auction
+ * are also kept in memory and serve first pages without touching the database.
+ * Amounts only go up within an auction, so the ring is newest-first under both
+ * orderings.
+ */
+@Service
+public class BidHistoryService {
+
+    private static final String TIMESTAMP = "timestamp";
+    private static final String AMOUNT = "amount";
+
+    private final BidRepository bidRepository;
+    private final AuctionRepository auctionRepository;
+    private final int recentSize;
+    private final int maxLimit;
+    private final Cache<UUID, RecentBids> recent;
+
+    public BidHistoryService(BidRepository bidRepository, AuctionRepository auctionRepository,
+            @Value("${livebid.bid-history.recent-size:50}") int recentSize,
+            @Value("${livebid.bid-history.max-limit:200}") int maxLimit,
+            @Value("${livebid.bid-history.max-auctions:10000}") long maxAuctions) {
+        this.bidRepository = bidRepository;
+        this.auctionRepository = auctionRepository;
+        this.recentSize = recentSize;
+        this.maxLimit = maxLimit;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxAuctions)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    public BidHistoryResponse getBids(UUID auctionId, String sort, String direction, int limit, String cursor) {
+        if (!TIMESTAMP.equals(sort) && !AMOUNT.equals(sort)) {
+            throw new IllegalArgumentException("sort must be 'timestamp' or 'amount'");
+        }
+        Sort.Direction order = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new IllegalArgumentException("direction must be 'asc' or 'desc'"));
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        if (cursor == null && order.isDescending() && limit <= recentSize) {
+            RecentBids.Slice slice = recentBids(auctionId).latest(limit);
+            if (slice != null) {
+                return page(slice.bids(), slice.hasMore(), sort);
+            }
+        }
+
+        ScrollPosition position = cursor == null ? ScrollPosition.keyset() : decodeCursor(cursor, sort);
+        Window<Bid> window = bidRepository.findByAuctionId(auctionId, position,
+                Sort.by(order, sort, "id"), Limit.of(limit));
+        List<BidResponse> bids = window.getContent().stream().map(BidHistoryService::toResponse).toList();
+        if (bids.isEmpty() && cursor == null) {
+            requireAuction(auctionId);
+        }
+        return page(bids, window.hasNext(), sort);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleBidPlaced(BidPlacedEvent event) {
+        RecentBids bids = recent.getIfPresent(event.getAuctionId());
+        if (bids != null && event.getBidId() != null) {
+            bids.add(new BidResponse(event.getBidId(), event.getNewLeaderId(), event.getNewPrice(),
+                    event.getTimestamp()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        RecentBids bids = new RecentBids(recentSize);
+        bids.seed(List.of(), false);
+        recent.put(event.getAuctionId(), bids);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionClosed(AuctionClosedEvent event) {
+        recent.invalidate(event.getAuctionId());
+    }
+
+    // Null for auctions that are not LIVE; those are always read from the database
+    private RecentBids recentBids(UUID auctionId) {
+        RecentBids bids = recent.getIfPresent(auctionId);
+        if (bids != null) {
+            return bids;
+        }
+        if (requireAuction(auctionId).getStatus() != AuctionStatus.LIVE) {
+            return RecentBids.NONE;
+        }
+
+        // Publish the ring before loading so bids committed meanwhile are not lost
+        RecentBids created = new RecentBids(recentSize);
+        RecentBids existing = recent.asMap().putIfAbsent(auctionId, created);
+        if (existing != null) {
+            return existing;
+        }
+        Window<Bid> latest = bidRepository.findByAuctionId(auctionId, ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.DESC, TIMESTAMP, "id"), Limit.of(recentSize));
+        created.seed(latest.getContent().stream().map(BidHistoryService::toResponse).toList(), latest.hasNext());
+        return created;
+    }
+
+    private Auction requireAuction(UUID auctionId) {
+        return auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new NotFoundException("Auction not found"));
+    }
+
+    private static BidHistoryResponse page(List<BidResponse> bids, boolean hasMore, String sort) {
+        String nextCursor = hasMore && !bids.isEmpty() ? encodeCursor(bids.get(bids.size() - 1), sort) : null;
+        return new BidHistoryResponse(bids, nextCursor);
+    }
+
+    private static String encodeCursor(BidResponse last, String sort) {
+        String key = TIMESTAMP.equals(sort) ? last.timestamp().toString() : Long.toString(last.amount());
+        String raw = sort + "|" + key + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decodeCursor(String cursor, String sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals(sort)) {
+            throw new IllegalArgumentException("Cursor does not match sort '" + sort + "'");
+        }
+        try {
+            Object key = TIMESTAMP.equals(sort) ? LocalDateTime.parse(parts[1]) : Long.parseLong(parts[1]);
+            return ScrollPosition.forward(Map.of(sort, key, "id", UUID.fromString(parts[2])));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static BidResponse toResponse(Bid bid) {
+        return new BidResponse(bid.getId(), bid.getBidderId(), bid.getAmount(), bid.getTimestamp());
+    }
+
+    /**
+     * Newest bids of one auction, ascending by amount, bounded to {@code capacity}.
+     */
+    private static final class RecentBids {
+
+        static final RecentBids NONE = new RecentBids(0);
+
+        private final int capacity;
+        // A lock rather than synchronized: a contended monitor pins virtual threads to their carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<BidResponse> bids = new ArrayList<>();
+        private boolean seeded;
+        // Older bids exist that the ring no longer holds
+        private boolean truncated;
+
+        RecentBids(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(BidResponse bid) {
+            lock.lock();
+            try {
+                int i = bids.size();
+                // After-commit callbacks can arrive out of order; amounts give the true order
+                while (i > 0 && bids.get(i - 1).amount() >= bid.amount()) {
+                    if (bids.get(i - 1).id().equals(bid.id())) {
+                        return;
+                    }
+                    i--;
+                }
+                if (i == 0 && bids.size() >= capacity) {
+                    truncated = true;
+                    return;
+                }
+                bids.add(i, bid);
+                if (bids.size() > capacity) {
+                    bids.remove(0);
+                    truncated = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void seed(List<BidResponse> newestFirst, boolean more) {
+            lock.lock();
+            try {
+                newestFirst.forEach(this::add);
+                truncated |= more;
+                seeded = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Slice latest(int limit) {
+            lock.lock();
+            try {
+                if (!seeded) {
+                    return null;
+                }
+                int count = Math.min(limit, bids.size());
+                List<BidResponse> page = new ArrayList<>(count);
+                for (int i = bids.size() - 1; i >= bids.size() - count; i--) {
+                    page.add(bids.get(i));
+                }
+                return new Slice(page, bids.size() > count || truncated);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        record Slice(List<BidResponse> bids, boolean hasMore) {
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.livebid.auction.service;
+
+/**
+ * A bid judged against the auction and refused: not live, ended, or similar.
+ * Unlike other {@link IllegalStateException}s from the bid path, which report
+ * that the bid could not be judged or recorded, it is final for that bid and
+ * safe to replay to a retry.
+ */
+public class BidRejectedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BidRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.livebid.auction.service;
+
+/**
+ * Bid increment rules shared by every bid path (transactional, sequenced and
+ * any pre-filter in front of them) so they can never drift apart.
+ */
+public final class BidRules {
+
+    private BidRules() {
+    }
+
+    // Minimum increment: max(5% of current price, $1)
+    public static long minimumIncrement(long currentPrice) {
+        return Math.max((long) (currentPrice * 0.05), 100);
+    }
+
+    public static long minimumNextBid(long currentPrice) {
+        return currentPrice + minimumIncrement(currentPrice);
+    }
+
+    public static void checkAmount(long currentPrice, long amount) {
+        if (amount <= currentPrice) {
+            throw new IllegalArgumentException("Bid must be higher than current price: " + currentPrice);
+        }
+
+        long minIncrement = minimumIncrement(currentPrice);
+        long minBid = currentPrice + minIncrement;
+        if (amount < minBid) {
+            throw new IllegalArgumentException("Minimum bid is " + minBid + " (current: " + currentPrice
+                    + " + increment: " + minIncrement + ")");
+        }
+    }
+}
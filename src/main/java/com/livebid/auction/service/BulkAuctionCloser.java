@@ -0,0 +1,173 @@
+package com.livebid.auction.service;
+
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.user.service.WalletService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Closes expired auctions a chunk at a time instead of one transaction each.
+ * Per chunk, one transaction locks the auctions in id order, then makes one
+ * pass over the users involved in id order, releasing each one's proxy holds,
+ * capturing their wins and crediting their sales as totals, inserts the
+ * settlements in one JDBC batch and marks every auction CLOSED with a single
+ * UPDATE. Results and events match {@link AuctionService#closeAuction}.
+ * If a chunk fails, for example because one winner cannot cover their price,
+ * its auctions are closed one by one so the rest still close.
+ */
+@Service
+@ConditionalOnProperty(name = "livebid.closing.mode", havingValue = "bulk")
+public class BulkAuctionCloser {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAuctionCloser.class);
+    private static final String LOCK_SQL = "SELECT id, seller_id, current_leader_id, current_price, end_time "
+            + "FROM auctions WHERE id IN (:ids) AND status = 'LIVE' AND end_time < :now ORDER BY id FOR UPDATE";
+    private static final String PROXIES_SQL = "SELECT auction_id, bidder_id, max_amount FROM proxy_bids "
+            + "WHERE auction_id IN (:ids) AND active = TRUE";
+    private static final String DEACTIVATE_PROXIES_SQL = "UPDATE proxy_bids SET active = FALSE "
+            + "WHERE auction_id IN (:ids) AND active = TRUE";
+    private static final String SETTLE_SQL = "INSERT INTO auction_settlements "
+            + "(id, auction_id, winner_id, seller_id, amount, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CLOSE_SQL = "UPDATE auctions SET status = 'CLOSED', version = version + 1 "
+            + "WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletService walletService;
+    private final AuctionService auctionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public BulkAuctionCloser(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            WalletService walletService, AuctionService auctionService, ApplicationEventPublisher eventPublisher,
+            @Value("${livebid.closing.bulk.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.walletService = walletService;
+        this.auctionService = auctionService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Closes whichever of {@code auctionIds} are LIVE and past their end time;
+     * the rest are left alone. Returns the ids it closed.
+     */
+    public List<UUID> close(Collection<UUID> auctionIds) {
+        List<UUID> ids = new ArrayList<>(auctionIds);
+        List<UUID> closed = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                closed.addAll(transactionTemplate.execute(status -> closeChunk(chunk)));
+            } catch (RuntimeException e) {
+                log.warn("Bulk close of {} auctions failed, closing them one by one: {}", chunk.size(),
+                        e.getMessage());
+                for (UUID auctionId : chunk) {
+                    try {
+                        if (auctionService.closeAuction(auctionId)) {
+                            closed.add(auctionId);
+                        }
+                    } catch (RuntimeException single) {
+                        log.warn("Failed to close auction {}: {}", auctionId, single.getMessage());
+                    }
+                }
+            }
+        }
+        return closed;
+    }
+
+    private List<UUID> closeChunk(List<UUID> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Expired> auctions = jdbcTemplate.query(LOCK_SQL,
+                new MapSqlParameterSource("ids", chunk).addValue("now", Timestamp.valueOf(now)),
+                (rs, i) -> new Expired(rs.getObject("id", UUID.class), rs.getObject("seller_id", UUID.class),
+                        rs.getObject("current_leader_id", UUID.class), rs.getLong("current_price"),
+                        rs.getTimestamp("end_time").toLocalDateTime()));
+        if (auctions.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = auctions.stream().map(Expired::id).toList();
+        MapSqlParameterSource byIds = new MapSqlParameterSource("ids", ids);
+        Map<UUID, Expired> byId = new TreeMap<>();
+        auctions.forEach(auction -> byId.put(auction.id(), auction));
+
+        // Every user's wallet changes, summed; one TreeMap so all user locks are taken once, in id order
+        Map<UUID, Settlement> users = new TreeMap<>();
+        // Same holds as AuctionService.releaseProxyBids
+        jdbcTemplate.query(PROXIES_SQL, byIds, rs -> {
+            Expired auction = byId.get(rs.getObject("auction_id", UUID.class));
+            UUID bidderId = rs.getObject("bidder_id", UUID.class);
+            long maxAmount = rs.getLong("max_amount");
+            long held = bidderId.equals(auction.leaderId()) ? maxAmount - auction.price() : maxAmount;
+            if (held > 0) {
+                users.computeIfAbsent(bidderId, id -> new Settlement()).release += held;
+            }
+        });
+        jdbcTemplate.update(DEACTIVATE_PROXIES_SQL, byIds);
+
+        List<Object[]> settlements = new ArrayList<>();
+        Timestamp createdAt = Timestamp.valueOf(now.truncatedTo(ChronoUnit.MICROS));
+        for (Expired auction : auctions) {
+            auctionService.recordCloseLag(auction.endTime(), now);
+            if (auction.leaderId() != null) {
+                users.computeIfAbsent(auction.leaderId(), id -> new Settlement()).capture += auction.price();
+                users.computeIfAbsent(auction.sellerId(), id -> new Settlement()).credit += auction.price();
+                settlements.add(new Object[] { TimeOrderedUuid.next(), auction.id(), auction.leaderId(),
+                        auction.sellerId(), auction.price(), createdAt });
+            }
+        }
+        users.forEach((userId, settlement) -> {
+            if (settlement.release > 0) {
+                walletService.release(userId, settlement.release);
+            }
+            if (settlement.capture > 0) {
+                walletService.capture(userId, settlement.capture);
+            }
+            if (settlement.credit > 0) {
+                walletService.credit(userId, settlement.credit);
+            }
+        });
+        if (!settlements.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(SETTLE_SQL, settlements);
+        }
+        jdbcTemplate.update(CLOSE_SQL, byIds);
+
+        // Like the single close, auctions without a winner publish a close with a null winner
+        for (Expired auction : auctions) {
+            eventPublisher.publishEvent(new AuctionClosedEvent(auction.id(), auction.leaderId(), auction.price()));
+        }
+        return ids;
+    }
+
+    private static final class Settlement {
+        long release;
+        long capture;
+        long credit;
+    }
+
+    private record Expired(UUID id, UUID sellerId, UUID leaderId, long price, LocalDateTime endTime) {
+    }
+}
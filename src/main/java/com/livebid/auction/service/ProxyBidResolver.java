@@ -0,0 +1,61 @@
+package com.livebid.auction.service;
+
+import com.livebid.auction.model.ProxyBid;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves a war between proxy bids in one step instead of one bid per increment.
+ * The highest maximum (earliest on a tie) leads at the lowest price that beats
+ * every competitor under {@link BidRules}, capped at its own maximum. Every other
+ * proxy can no longer win and is returned as exhausted.
+ */
+public final class ProxyBidResolver {
+
+    private static final Comparator<ProxyBid> STRONGEST_FIRST = Comparator
+            .comparingLong(ProxyBid::getMaxAmount).reversed()
+            .thenComparing(ProxyBid::getPlacedAt);
+
+    private ProxyBidResolver() {
+    }
+
+    public static Optional<Resolution> resolve(long currentPrice, UUID leaderId, List<ProxyBid> active) {
+        if (active.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<ProxyBid> ranked = new ArrayList<>(active);
+        ranked.sort(STRONGEST_FIRST);
+        ProxyBid top = ranked.get(0);
+        List<ProxyBid> others = ranked.subList(1, ranked.size());
+        long competitor = others.isEmpty() ? -1 : others.get(0).getMaxAmount();
+        long minNext = BidRules.minimumNextBid(currentPrice);
+        boolean topLeads = top.getBidderId().equals(leaderId);
+
+        if (!topLeads && top.getMaxAmount() < minNext) {
+            // A manual bid has outrun every maximum
+            return Optional.of(new Resolution(leaderId, currentPrice, ranked));
+        }
+
+        long price;
+        if (topLeads) {
+            price = competitor >= minNext
+                    ? Math.min(top.getMaxAmount(), BidRules.minimumNextBid(competitor))
+                    : currentPrice;
+        } else {
+            price = minNext;
+            if (competitor >= minNext) {
+                price = Math.max(price, BidRules.minimumNextBid(competitor));
+            }
+            price = Math.min(price, top.getMaxAmount());
+        }
+        return Optional.of(new Resolution(top.getBidderId(), price, List.copyOf(others)));
+    }
+
+    public record Resolution(UUID leaderId, long price, List<ProxyBid> exhausted) {
+    }
+}
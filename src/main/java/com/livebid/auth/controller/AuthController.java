@@ -3,6 +3,7 @@ package com.livebid.auth.controller;
 import com.livebid.infrastructure.security.JwtService;
 import com.livebid.user.model.User;
 import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.WalletService;
 import lombok.Data;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,11 +18,13 @@ public class AuthController {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final WalletService walletService;
     private final RestTemplate restTemplate = new RestTemplate();
 
-    public AuthController(JwtService jwtService, UserRepository userRepository) {
+    public AuthController(JwtService jwtService, UserRepository userRepository, WalletService walletService) {
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.walletService = walletService;
     }
 
     @PostMapping("/google")
@@ -78,6 +81,9 @@ public class AuthController {
             }
 
             String jwt = jwtService.generateToken(user.getId(), user.getEmail());
+            // The wallet may hold balance changes that have not been flushed to the row yet
+            WalletService.Balance balance = walletService.pendingBalance(user.getId())
+                    .orElse(new WalletService.Balance(user.getAvailableBalance(), user.getReservedBalance()));
 
             return ResponseEntity.ok(Map.of(
                     "token", jwt,
@@ -85,8 +91,8 @@ public class AuthController {
                             "id", user.getId(),
                             "email", user.getEmail(),
                             "name", user.getName() != null ? user.getName() : "",
-                            "availableBalance", user.getAvailableBalance(),
-                            "reservedBalance", user.getReservedBalance())));
+                            "availableBalance", balance.availableBalance(),
+                            "reservedBalance", balance.reservedBalance())));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Authentication failed: " + e.getMessage()));
         }
@@ -0,0 +1,139 @@
+package com.livebid.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executors for after-commit side effects, so slow Redis, WebSocket or
+ * notification writes never run inside a bid transaction.
+ *
+ * <ul>
+ * <li>{@link #broadcast}: price ticks and bid gate sync. When the queue is full
+ * the oldest task is dropped; a newer update supersedes it.</li>
+ * <li>{@link #push}: balance and notification pushes, which nothing supersedes.
+ * Each user hashes to one single-threaded lane, so their pushes go out in the
+ * order they were submitted. When a lane is full the caller waits for room.</li>
+ * <li>{@link #notifyUser}: notification inserts. When the queue is full the caller
+ * runs the task itself. Callers have already committed, so this slows them down
+ * without holding any locks.</li>
+ * </ul>
+ *
+ * Deliberately not {@code Executor} beans: one would replace Boot's
+ * {@code applicationTaskExecutor}.
+ */
+@Component
+public class SideEffectExecutors {
+
+    private static final Logger log = LoggerFactory.getLogger(SideEffectExecutors.class);
+
+    private final ThreadPoolExecutor broadcast;
+    private final ThreadPoolExecutor[] pushLanes;
+    private final ThreadPoolExecutor notifications;
+
+    public SideEffectExecutors(MeterRegistry meterRegistry,
+            @Value("${livebid.side-effects.broadcast.threads:2}") int broadcastThreads,
+            @Value("${livebid.side-effects.broadcast.queue-capacity:10000}") int broadcastQueue,
+            @Value("${livebid.side-effects.pushes.lanes:4}") int pushLanes,
+            @Value("${livebid.side-effects.pushes.queue-capacity:2500}") int pushQueue,
+            @Value("${livebid.side-effects.notifications.threads:2}") int notificationThreads,
+            @Value("${livebid.side-effects.notifications.queue-capacity:10000}") int notificationQueue) {
+        Counter dropped = queueFull(meterRegistry, "broadcast");
+        this.broadcast = executor(meterRegistry, "broadcast", broadcastThreads, broadcastQueue, (task, executor) -> {
+            // Straight into the queue: the workers are all running once it has filled up
+            while (!executor.isShutdown() && !executor.getQueue().offer(task)) {
+                if (executor.getQueue().poll() != null) {
+                    dropped.increment();
+                }
+            }
+        });
+
+        Counter waited = queueFull(meterRegistry, "pushes");
+        this.pushLanes = new ThreadPoolExecutor[pushLanes];
+        for (int lane = 0; lane < pushLanes; lane++) {
+            this.pushLanes[lane] = executor(meterRegistry, "pushes-" + lane, 1, pushQueue, (task, executor) -> {
+                waited.increment();
+                if (!executor.isShutdown()) {
+                    try {
+                        executor.getQueue().put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.warn("Interrupted waiting to queue a push; it was not sent");
+                    }
+                }
+            });
+        }
+
+        Counter callerRuns = queueFull(meterRegistry, "notifications");
+        this.notifications = executor(meterRegistry, "notifications", notificationThreads, notificationQueue,
+                (task, executor) -> {
+                    callerRuns.increment();
+                    if (!executor.isShutdown()) {
+                        task.run();
+                    }
+                });
+    }
+
+    public void broadcast(Runnable task) {
+        broadcast.execute(guarded("broadcast", task));
+    }
+
+    public void push(UUID userId, Runnable task) {
+        pushLanes[Math.floorMod(userId.hashCode(), pushLanes.length)].execute(guarded("push", task));
+    }
+
+    public void notifyUser(Runnable task) {
+        notifications.execute(guarded("notification", task));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        broadcast.shutdown();
+        for (ThreadPoolExecutor lane : pushLanes) {
+            lane.shutdown();
+        }
+        notifications.shutdown();
+        for (ThreadPoolExecutor lane : pushLanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        notifications.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static Runnable guarded(String kind, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("After-commit {} side effect failed: {}", kind, e.getMessage());
+            }
+        };
+    }
+
+    private static ThreadPoolExecutor executor(MeterRegistry meterRegistry, String name, int threads,
+            int queueCapacity, RejectedExecutionHandler onFull) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("side-effects-" + name + "-", 0).factory(), onFull);
+        new ExecutorServiceMetrics(executor, "livebid.side-effects." + name, List.of()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private static Counter queueFull(MeterRegistry meterRegistry, String name) {
+        return Counter.builder("livebid.side-effects.queue.full")
+                .description("Side effects that found their queue full")
+                .tag("executor", name)
+                .register(meterRegistry);
+    }
+}
@@ -1,15 +1,59 @@
 package com.livebid.infrastructure.config;
 
+import com.livebid.auction.broadcast.CompactSubscriptionInterceptor;
+import com.livebid.infrastructure.messaging.TopicSubscriptions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
 
+import java.util.Map;
+
+/**
+ * STOMP over WebSocket with the in-memory broker. Every session sends through a
+ * buffer of at most {@code livebid.websocket.send-buffer-size-kb}; a session whose
+ * buffer overflows, or whose single send blocks for longer than
+ * {@code livebid.websocket.send-time-limit-ms}, is closed, so a slow client can
+ * hold at most its own buffer and never stalls the outbound threads.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final TopicSubscriptions subscriptions;
+    private final int sendTimeLimitMs;
+    private final int sendBufferSizeKb;
+    private final int outboundThreads;
+    private final int outboundQueueCapacity;
+
+    public WebSocketConfig(TopicSubscriptions subscriptions,
+            @Value("${livebid.websocket.send-time-limit-ms:10000}") int sendTimeLimitMs,
+            @Value("${livebid.websocket.send-buffer-size-kb:256}") int sendBufferSizeKb,
+            @Value("${livebid.websocket.outbound.threads:8}") int outboundThreads,
+            @Value("${livebid.websocket.outbound.queue-capacity:50000}") int outboundQueueCapacity) {
+        this.subscriptions = subscriptions;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeKb = sendBufferSizeKb;
+        this.outboundThreads = outboundThreads;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -19,5 +63,67 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+        // Plain WebSocket endpoint; the only one that can negotiate binary price frames
+        registry.addEndpoint("/ws-native").setAllowedOriginPatterns("*")
+                .addInterceptors(new NativeSessionMarker());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeKb * 1024);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Subscriptions are counted after the compact rewrite, under their final destination
+        registration.interceptors(new CompactSubscriptionInterceptor(), subscriptions);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundThreads)
+                .maxPoolSize(outboundThreads)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    // Looked up lazily: both beans are created by the broker configuration after this one
+    @Bean
+    MeterBinder webSocketSessionMetrics(
+            @Qualifier("subProtocolWebSocketHandler") ObjectProvider<WebSocketHandler> handler,
+            @Qualifier("clientOutboundChannelExecutor") ObjectProvider<ThreadPoolTaskExecutor> outbound) {
+        return registry -> {
+            Gauge.builder("livebid.websocket.sessions", handler, h -> stats(h).getTotalSessions())
+                    .description("Open WebSocket and SockJS sessions")
+                    .register(registry);
+            FunctionCounter.builder("livebid.websocket.sessions.slow-closed", handler,
+                            h -> stats(h).getLimitExceededSessions())
+                    .description("Sessions closed for exceeding the send time or buffer limit")
+                    .register(registry);
+            Gauge.builder("livebid.websocket.outbound.queue", outbound,
+                            o -> o.getObject().getThreadPoolExecutor().getQueue().size())
+                    .description("Frames waiting for a client outbound thread")
+                    .register(registry);
+        };
+    }
+
+    private static SubProtocolWebSocketHandler.Stats stats(ObjectProvider<WebSocketHandler> handler) {
+        return ((SubProtocolWebSocketHandler) handler.getObject()).getStats();
+    }
+
+    private static final class NativeSessionMarker implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            attributes.put(CompactSubscriptionInterceptor.NATIVE_SESSION, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                WebSocketHandler wsHandler, Exception exception) {
+        }
     }
 }
@@ -0,0 +1,13 @@
+package com.livebid.infrastructure.exception;
+
+/**
+ * A requested resource does not exist; answered with 404.
+ */
+public class NotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.livebid.infrastructure.messaging;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * {@link TopicTransport} over Redis pub/sub, active with {@code livebid.cluster.enabled}.
+ */
+@Component
+@ConditionalOnProperty(name = "livebid.cluster.enabled", havingValue = "true")
+public class RedisTopicTransport implements TopicTransport {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+
+    public RedisTopicTransport(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        container.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+}
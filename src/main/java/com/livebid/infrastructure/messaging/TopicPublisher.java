@@ -0,0 +1,257 @@
+package com.livebid.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single entry point for {@code /topic} sends. Frames go to this node's simple
+ * broker, which only delivers to its own sessions, and are not even serialized
+ * when no session here is subscribed to the destination. With a
+ * {@link TopicTransport} present (cluster mode), {@code /topic/auctions/*} and
+ * {@code /topic/users/*} frames are also batched per channel every
+ * {@code livebid.cluster.batch-window-ms} and relayed, and frames relayed by other
+ * nodes are delivered to the local broker and handed to any
+ * {@link #onRelayed relay listeners}.
+ */
+@Component
+public class TopicPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicPublisher.class);
+    private static final Map<String, String> CHANNELS = Map.of(
+            "/topic/auctions/", "livebid:topics:auctions",
+            "/topic/users/", "livebid:topics:users");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final TopicSubscriptions subscriptions;
+    private final TopicTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int maxBatch;
+    private final Map<String, Batch> batches;
+    private final ScheduledExecutorService flusher;
+    private final List<RelayListener> relayListeners = new CopyOnWriteArrayList<>();
+
+    public TopicPublisher(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+            TopicSubscriptions subscriptions, ObjectProvider<TopicTransport> transport,
+            @Value("${livebid.cluster.batch-window-ms:5}") long batchWindowMs,
+            @Value("${livebid.cluster.max-batch:500}") int maxBatch) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.subscriptions = subscriptions;
+        this.transport = transport.getIfAvailable();
+        this.maxBatch = maxBatch;
+
+        if (this.transport == null) {
+            this.batches = Map.of();
+            this.flusher = null;
+            return;
+        }
+        this.batches = new HashMap<>();
+        for (String channel : CHANNELS.values()) {
+            batches.put(channel, new Batch(channel));
+        }
+        for (String channel : batches.keySet()) {
+            this.transport.subscribe(channel, this::receive);
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("topic-relay-flusher").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flushAll, batchWindowMs, batchWindowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether a frame for the destination could reach anyone: a subscriber on this
+     * node, or in cluster mode a relayed destination that other nodes may serve.
+     */
+    public boolean hasAudience(String destination) {
+        return subscriptions.hasSubscribers(destination) || transport != null && batchFor(destination) != null;
+    }
+
+    public boolean isClustered() {
+        return transport != null;
+    }
+
+    public boolean hasLocalSubscribers(String destination) {
+        return subscriptions.hasSubscribers(destination);
+    }
+
+    public void publish(String destination, Object payload) {
+        if (subscriptions.hasSubscribers(destination)) {
+            messagingTemplate.convertAndSend(destination, payload);
+        }
+        if (transport == null) {
+            return;
+        }
+        Batch batch = batchFor(destination);
+        if (batch == null) {
+            return;
+        }
+
+        ObjectNode frame = objectMapper.createObjectNode();
+        frame.put("destination", destination);
+        frame.set("payload", objectMapper.valueToTree(payload));
+        if (batch.add(frame) >= maxBatch) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Sends an already-encoded frame to this node's sessions only. For per-node
+     * derived formats that every node produces itself from the relayed JSON.
+     */
+    public void publishLocal(String destination, byte[] payload, MimeType contentType) {
+        deliverLocally(destination, payload, contentType);
+    }
+
+    /**
+     * Registers a callback for frames relayed by other nodes under the given
+     * destination prefix, invoked on the transport's listener thread after local
+     * delivery. Never called outside cluster mode.
+     */
+    public void onRelayed(String destinationPrefix, BiConsumer<String, JsonNode> listener) {
+        relayListeners.add(new RelayListener(destinationPrefix, listener));
+    }
+
+    private Batch batchFor(String destination) {
+        for (Map.Entry<String, String> prefix : CHANNELS.entrySet()) {
+            if (destination.startsWith(prefix.getKey())) {
+                return batches.get(prefix.getValue());
+            }
+        }
+        return null;
+    }
+
+    private void flushAll() {
+        batches.values().forEach(this::flush);
+    }
+
+    // Publishers and the flusher both flush; one at a time per batch keeps drained frames in order on the channel
+    private void flush(Batch batch) {
+        batch.flushLock.lock();
+        try {
+            List<JsonNode> frames = batch.drain();
+            if (frames.isEmpty()) {
+                return;
+            }
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put("node", nodeId);
+            envelope.putArray("frames").addAll(frames);
+            try {
+                transport.publish(batch.channel, objectMapper.writeValueAsString(envelope));
+            } catch (JsonProcessingException | RuntimeException e) {
+                // Clients on other nodes miss these frames; local delivery already happened
+                log.warn("Relaying {} frames on {} failed: {}", frames.size(), batch.channel, e.getMessage());
+            }
+        } finally {
+            batch.flushLock.unlock();
+        }
+    }
+
+    private void receive(String message) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message);
+            if (nodeId.equals(envelope.path("node").asText())) {
+                return;
+            }
+            for (JsonNode frame : envelope.path("frames")) {
+                String destination = frame.path("destination").asText();
+                JsonNode payload = frame.get("payload");
+                deliverLocally(destination, objectMapper.writeValueAsBytes(payload), MimeTypeUtils.APPLICATION_JSON);
+                notifyRelayListeners(destination, payload);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping malformed relayed frames: {}", e.getMessage());
+        }
+    }
+
+    private void notifyRelayListeners(String destination, JsonNode payload) {
+        for (RelayListener listener : relayListeners) {
+            if (destination.startsWith(listener.prefix())) {
+                try {
+                    listener.callback().accept(destination, payload);
+                } catch (RuntimeException e) {
+                    log.warn("Relay listener for {} failed: {}", destination, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Already-serialized payloads go straight to the broker without another conversion
+    private void deliverLocally(String destination, byte[] payload, MimeType contentType) {
+        if (!subscriptions.hasSubscribers(destination)) {
+            return;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(contentType);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flushAll();
+        }
+    }
+
+    private record RelayListener(String prefix, BiConsumer<String, JsonNode> callback) {
+    }
+
+    private static final class Batch {
+        final String channel;
+        final ReentrantLock lock = new ReentrantLock();
+        // Held across drain and publish; lock alone only guards frames, so adds never wait on the transport
+        final ReentrantLock flushLock = new ReentrantLock();
+        List<JsonNode> frames = new ArrayList<>();
+
+        Batch(String channel) {
+            this.channel = channel;
+        }
+
+        int add(JsonNode frame) {
+            lock.lock();
+            try {
+                frames.add(frame);
+                return frames.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<JsonNode> drain() {
+            lock.lock();
+            try {
+                List<JsonNode> drained = frames;
+                frames = new ArrayList<>();
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.livebid.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live subscription counts per destination on this node, kept from the client
+ * inbound channel after subscriptions are accepted (so after any destination
+ * rewrite). Lets publishers skip serializing frames nobody here will receive.
+ */
+@Component
+public class TopicSubscriptions implements ChannelInterceptor {
+
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    public TopicSubscriptions(MeterRegistry meterRegistry) {
+        Gauge.builder("livebid.websocket.subscribed-destinations", counts, Map::size)
+                .description("Destinations with at least one subscriber on this node")
+                .register(meterRegistry);
+    }
+
+    public boolean hasSubscribers(String destination) {
+        return counts.containsKey(destination);
+    }
+
+    public int subscriberCount(String destination) {
+        return counts.getOrDefault(destination, 0);
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent) {
+            return;
+        }
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return;
+        }
+        switch (type) {
+            case SUBSCRIBE -> subscribe(sessionId,
+                    SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()),
+                    SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            case UNSUBSCRIBE -> unsubscribe(sessionId,
+                    SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+            case DISCONNECT -> disconnect(sessionId);
+            default -> {
+            }
+        }
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (subscriptionId == null || destination == null) {
+            return;
+        }
+        String previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        counts.merge(destination, 1, Integer::sum);
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions != null && subscriptionId != null) {
+            String destination = subscriptions.remove(subscriptionId);
+            if (destination != null) {
+                decrement(destination);
+            }
+        }
+    }
+
+    // DISCONNECT arrives both from the client and when the session closes, possibly twice
+    private void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(String destination) {
+        counts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.livebid.infrastructure.messaging;
+
+import java.util.function.Consumer;
+
+/**
+ * Cross-node pub/sub used by {@link TopicPublisher} to relay broker frames.
+ */
+public interface TopicTransport {
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
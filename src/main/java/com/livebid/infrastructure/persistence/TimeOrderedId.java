@@ -0,0 +1,18 @@
+package com.livebid.infrastructure.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated {@code @Id} with {@link TimeOrderedUuid#next()}.
+ * Use in place of {@code @GeneratedValue(strategy = GenerationType.UUID)}.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,107 @@
+package com.livebid.infrastructure.scheduler;
+
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.service.AuctionMetadataCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Takes SCHEDULED auctions LIVE once their start time has passed, a batch at a
+ * time: one transaction claims up to {@code livebid.activation.batch-size} due
+ * auctions and flips them with a single UPDATE. Unlike a manual start, the
+ * auction keeps the end time it was created with; auctions whose end time has
+ * already passed are left SCHEDULED.
+ *
+ * <p>Each activated auction then goes through the same warm-up as a manual
+ * start: the {@link AuctionStartedEvent} seeds the bid books, the Redis bid gate,
+ * the topic replay and recent-bid caches and schedules the close timer, and the
+ * auction's metadata is put in {@link AuctionMetadataCache}. So the first bid
+ * finds everything in memory. Rows are claimed with {@code SKIP LOCKED}, so
+ * nodes running this at the same time split the work.
+ */
+@Component
+@ConditionalOnProperty(name = "livebid.activation.enabled", havingValue = "true", matchIfMissing = true)
+public class AuctionActivationScheduler {
+
+    private static final String CLAIM_SQL = "SELECT id, seller_id, title, current_price, end_time FROM auctions "
+            + "WHERE status = 'SCHEDULED' AND start_time <= :now AND end_time > :now "
+            + "ORDER BY start_time LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String ACTIVATE_SQL = "UPDATE auctions SET status = 'LIVE', version = version + 1 "
+            + "WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuctionMetadataCache auctionMetadata;
+    private final int batchSize;
+    private final Counter activated;
+
+    public AuctionActivationScheduler(NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            AuctionMetadataCache auctionMetadata, MeterRegistry meterRegistry,
+            @Value("${livebid.activation.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.auctionMetadata = auctionMetadata;
+        this.batchSize = batchSize;
+        this.activated = Counter.builder("livebid.auctions.activated")
+                .description("SCHEDULED auctions taken LIVE at their start time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${livebid.activation.interval-ms:1000}")
+    public void activateDueAuctions() {
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> activateBatch());
+        } while (count == batchSize);
+    }
+
+    private int activateBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Due> due = jdbcTemplate.query(CLAIM_SQL,
+                new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("limit", batchSize),
+                (rs, i) -> new Due(rs.getObject("id", UUID.class), rs.getObject("seller_id", UUID.class),
+                        rs.getString("title"), rs.getLong("current_price"),
+                        rs.getTimestamp("end_time").toLocalDateTime()));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update(ACTIVATE_SQL, new MapSqlParameterSource("ids", due.stream().map(Due::id).toList()));
+
+        // Listeners and the metadata put run after commit, so nothing is warmed for a batch that rolls back
+        for (Due auction : due) {
+            eventPublisher.publishEvent(new AuctionStartedEvent(auction.id(), auction.price(), auction.endTime()));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Due auction : due) {
+                    auctionMetadata.put(auction.id(),
+                            new AuctionMetadataCache.Metadata(auction.sellerId(), auction.title()));
+                }
+            }
+        });
+        activated.increment(due.size());
+        return due.size();
+    }
+
+    private record Due(UUID id, UUID sellerId, String title, long price, LocalDateTime endTime) {
+    }
+}
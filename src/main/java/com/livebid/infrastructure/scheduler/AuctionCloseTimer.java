@@ -0,0 +1,266 @@
+package com.livebid.infrastructure.scheduler;
+
+import com.livebid.auction.engine.BidEngine;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.service.BulkAuctionCloser;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Closes LIVE auctions within one tick of their end time. End times go into a
+ * hierarchical timing wheel: level 0 has {@code wheel-size} slots of
+ * {@code tick-ms}, and each level above spans the whole level below per slot,
+ * so scheduling and firing are O(1) however far ahead an auction ends. Entries
+ * move down a level as the wheel turns and fire from level 0.
+ *
+ * <p>The wheel is fed by {@link AuctionStartedEvent} and by
+ * {@link AuctionClosingScheduler}'s sweep, which also covers auctions started on
+ * other nodes and anything the wheel lost to a restart. Closing is idempotent,
+ * so several nodes timing the same auction is harmless. The timer thread only
+ * sleeps until the next tick while something is scheduled.
+ *
+ * <p>Everything due in one tick, or handed over already expired, is closed as
+ * one batch: one auction per task normally, or chunks of
+ * {@link BulkAuctionCloser#chunkSize()} when {@code livebid.closing.mode=bulk}.
+ */
+@Component
+public class AuctionCloseTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionCloseTimer.class);
+    private static final int LEVELS = 4;
+
+    private final BidEngine bidEngine;
+    private final BulkAuctionCloser bulkCloser;
+    private final long tickMs;
+    private final int wheelSize;
+    private final ExecutorService closers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // [level][slot], slots created on first use
+    private final Slot[][] slots;
+    // Latest deadline per auction; entries whose deadline no longer matches are skipped when they fire
+    private final Map<UUID, Long> deadlines = new HashMap<>();
+    // Already expired when scheduled; closed with the next batch
+    private final List<UUID> overdue = new ArrayList<>();
+    private Thread timer;
+    private long tick;
+    private volatile boolean running = true;
+
+    public AuctionCloseTimer(BidEngine bidEngine, ObjectProvider<BulkAuctionCloser> bulkCloser,
+            MeterRegistry meterRegistry,
+            @Value("${livebid.closing.tick-ms:10}") long tickMs,
+            @Value("${livebid.closing.wheel-size:512}") int wheelSize,
+            @Value("${livebid.closing.threads:4}") int threads) {
+        this.bidEngine = bidEngine;
+        this.bulkCloser = bulkCloser.getIfAvailable();
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slots = new Slot[LEVELS][wheelSize];
+        this.closers = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("auction-closer-", 0).factory());
+        this.tick = currentTick();
+        Gauge.builder("livebid.auctions.close.scheduled", this, AuctionCloseTimer::scheduled)
+                .description("LIVE auctions waiting in the close timer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        timer = Thread.ofPlatform().name("auction-close-timer").start(this::run);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleAuctionStarted(AuctionStartedEvent event) {
+        schedule(event.getAuctionId(), event.getEndTime());
+    }
+
+    /**
+     * Closes the auction shortly after {@code endTime}, or right away if it has
+     * passed. Rescheduling replaces the previous deadline.
+     */
+    public void schedule(UUID auctionId, LocalDateTime endTime) {
+        // Closing needs endTime < now, so aim for the tick after the end millisecond
+        long endMs = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long deadlineTick = Math.floorDiv(endMs, tickMs) + 1;
+        lock.lock();
+        try {
+            Long current = deadlines.put(auctionId, deadlineTick);
+            if (current != null && current == deadlineTick) {
+                return;
+            }
+            if (deadlines.size() == 1) {
+                // Nothing else is in the wheel, so it can restart from the present instead of catching up
+                tick = currentTick();
+                changed.signal();
+            }
+            if (!place(new Entry(auctionId, deadlineTick))) {
+                deadlines.remove(auctionId);
+                overdue.add(auctionId);
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int scheduled() {
+        lock.lock();
+        try {
+            return deadlines.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (timer != null) {
+            timer.interrupt();
+        }
+        closers.shutdown();
+    }
+
+    private void run() {
+        List<UUID> due = new ArrayList<>();
+        while (running) {
+            lock.lock();
+            try {
+                while (deadlines.isEmpty() && overdue.isEmpty()) {
+                    changed.await();
+                }
+                long now = currentTick();
+                while (tick < now) {
+                    advance(due);
+                }
+                due.addAll(overdue);
+                overdue.clear();
+                if (due.isEmpty()) {
+                    changed.await((tick + 1) * tickMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            close(due);
+            due.clear();
+        }
+    }
+
+    // Moves to the next tick: higher levels whose slot just came up are spread downwards, then level 0 fires
+    private void advance(List<UUID> due) {
+        tick++;
+        long span = 1;
+        int aligned = 0;
+        while (aligned + 1 < LEVELS && tick % (span * wheelSize) == 0) {
+            span *= wheelSize;
+            aligned++;
+        }
+        for (int level = aligned; level >= 0; level--) {
+            int slot = (int) ((tick / pow(level)) % wheelSize);
+            Slot entries = slots[level][slot];
+            if (entries == null) {
+                continue;
+            }
+            slots[level][slot] = null;
+            for (Entry entry : entries.entries) {
+                Long deadline = deadlines.get(entry.auctionId());
+                if (deadline == null || deadline != entry.deadlineTick()) {
+                    continue;
+                }
+                if (!place(entry)) {
+                    deadlines.remove(entry.auctionId());
+                    due.add(entry.auctionId());
+                }
+            }
+        }
+    }
+
+    // False when the entry is due now; beyond the top level it waits for a later sweep
+    private boolean place(Entry entry) {
+        if (entry.deadlineTick() <= tick) {
+            return false;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            long size = pow(level);
+            long target = entry.deadlineTick() / size;
+            if (target - tick / size < wheelSize) {
+                int slot = (int) (target % wheelSize);
+                if (slots[level][slot] == null) {
+                    slots[level][slot] = new Slot();
+                }
+                slots[level][slot].entries.add(entry);
+                return true;
+            }
+        }
+        deadlines.remove(entry.auctionId());
+        return true;
+    }
+
+    private void close(List<UUID> due) {
+        if (bulkCloser == null) {
+            for (UUID auctionId : due) {
+                closers.execute(() -> {
+                    try {
+                        bidEngine.closeAuction(auctionId);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to close auction {}, the sweep will retry: {}", auctionId, e.getMessage());
+                    }
+                });
+            }
+            return;
+        }
+        for (int from = 0; from < due.size(); from += bulkCloser.chunkSize()) {
+            List<UUID> chunk = List.copyOf(due.subList(from, Math.min(from + bulkCloser.chunkSize(), due.size())));
+            closers.execute(() -> {
+                try {
+                    bidEngine.closeAuctions(chunk);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to close {} auctions, the sweep will retry: {}", chunk.size(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    private long pow(int level) {
+        long size = 1;
+        for (int i = 0; i < level; i++) {
+            size *= wheelSize;
+        }
+        return size;
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMs;
+    }
+
+    private record Entry(UUID auctionId, long deadlineTick) {
+    }
+
+    private static final class Slot {
+        final List<Entry> entries = new ArrayList<>();
+    }
+}
@@ -2,34 +2,39 @@ package com.livebid.infrastructure.scheduler;
 
 import com.livebid.auction.model.Auction;
 import com.livebid.auction.repository.AuctionRepository;
-import com.livebid.auction.service.AuctionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Safety net behind {@link AuctionCloseTimer}. Each sweep hands every LIVE
+ * auction that has ended, or ends before the sweep after next, to the timer, so
+ * auctions it never heard about (started on another node, or before a restart)
+ * still close on time and expired ones close at once.
+ */
 @Component
 public class AuctionClosingScheduler {
 
     private final AuctionRepository auctionRepository;
-    private final AuctionService auctionService;
+    private final AuctionCloseTimer closeTimer;
+    private final long sweepIntervalMs;
 
-    public AuctionClosingScheduler(AuctionRepository auctionRepository, AuctionService auctionService) {
+    public AuctionClosingScheduler(AuctionRepository auctionRepository, AuctionCloseTimer closeTimer,
+            @Value("${livebid.closing.sweep-interval-ms:10000}") long sweepIntervalMs) {
         this.auctionRepository = auctionRepository;
-        this.auctionService = auctionService;
+        this.closeTimer = closeTimer;
+        this.sweepIntervalMs = sweepIntervalMs;
     }
 
-    @Scheduled(fixedRate = 10000) // Run every 10 seconds
+    @Scheduled(fixedDelayString = "${livebid.closing.sweep-interval-ms:10000}")
     public void closeExpiredAuctions() {
-        List<Auction> expiredAuctions = auctionRepository.findExpiredLiveAuctions(java.time.LocalDateTime.now());
-
-        for (Auction auction : expiredAuctions) {
-            try {
-                // Delegate the transactional heavy lifting to the service
-                auctionService.closeAuction(auction.getId());
-            } catch (Exception e) {
-                System.err.println("Failed to close auction " + auction.getId() + ": " + e.getMessage());
-            }
+        LocalDateTime horizon = LocalDateTime.now().plusNanos(2 * sweepIntervalMs * 1_000_000);
+        List<Auction> ending = auctionRepository.findExpiredLiveAuctions(horizon);
+        for (Auction auction : ending) {
+            closeTimer.schedule(auction.getId(), auction.getEndTime());
         }
     }
 }
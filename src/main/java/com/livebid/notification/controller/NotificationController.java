@@ -1,11 +1,10 @@
 package com.livebid.notification.controller;
 
-import com.livebid.notification.model.Notification;
+import com.livebid.notification.dto.NotificationPage;
 import com.livebid.notification.service.NotificationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,8 +19,10 @@ public class NotificationController {
     }
 
     @GetMapping
-    public List<Notification> getNotifications(@PathVariable UUID userId) {
-        return notificationService.getNotifications(userId);
+    public NotificationPage getNotifications(@PathVariable UUID userId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        return notificationService.getNotifications(userId, limit, cursor);
     }
 
     @GetMapping("/unread-count")
@@ -31,7 +32,7 @@ public class NotificationController {
 
     @PostMapping("/{notificationId}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable UUID userId, @PathVariable UUID notificationId) {
-        notificationService.markAsRead(notificationId);
+        notificationService.markAsRead(userId, notificationId);
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,13 @@
+package com.livebid.notification.dto;
+
+import com.livebid.notification.model.Notification;
+
+import java.util.List;
+
+/**
+ * One page of a user's inbox, newest first. {@code nextCursor} is null on the last page.
+ */
+public record NotificationPage(
+        List<Notification> notifications,
+        String nextCursor) {
+}
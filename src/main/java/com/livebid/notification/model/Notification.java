@@ -1,5 +1,6 @@
 package com.livebid.notification.model;
 
+import com.livebid.infrastructure.persistence.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,13 +10,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Keyset pages of one user's inbox, newest first; id breaks created_at ties
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, id") })
 @Data
 @NoArgsConstructor
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -1,13 +1,31 @@
 package com.livebid.notification.repository;
 
 import com.livebid.notification.model.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-    List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    // Keyset scroll; sorted by createdAt with id as the tie-breaker
+    Window<Notification> findByUserId(UUID userId, ScrollPosition position, Sort sort, Limit limit);
 
     long countByUserIdAndReadFalse(UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.userId = :userId AND n.read = false")
+    int markRead(@Param("userId") UUID userId, @Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.userId = :userId AND n.read = false")
+    int markAllRead(@Param("userId") UUID userId);
 }
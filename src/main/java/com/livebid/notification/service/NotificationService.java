@@ -1,60 +1,210 @@
 package com.livebid.notification.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.notification.dto.NotificationPage;
 import com.livebid.notification.model.Notification;
 import com.livebid.notification.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Notifications are written behind by {@link NotificationWriter}. With
+ * {@code livebid.notifications.collapse-outbid} on, a user has at most one
+ * unread OUTBID notification per auction: later outbids rewrite its message in
+ * place instead of adding rows. The unread OUTBID ids
+ * are indexed in memory, so collapsing never queries; after a restart, or on
+ * another node, the first outbid for a pair starts a new row. An outbid whose
+ * row turns out to be read already, on another node or just before, starts a
+ * new row too once the writer reports it.
+ *
+ * <p>The inbox is read in keyset pages, newest first, so a page costs the same
+ * however many notifications a user has. Unread counts are counted from the
+ * table once per user and then kept up to date in memory as notifications are
+ * created and read; each count is recounted after
+ * {@code livebid.notifications.unread-count.ttl-seconds}, which bounds drift from
+ * other nodes and from writes still queued in the writer.
+ */
 @Service
 public class NotificationService {
 
+    private static final String OUTBID = "OUTBID";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final NotificationRepository notificationRepository;
+    private final NotificationWriter notificationWriter;
     private final ApplicationEventPublisher eventPublisher;
+    private final boolean collapseOutbid;
+    private final int maxLimit;
+    // user -> auction -> that user's unread OUTBID notification for the auction
+    private final Cache<UUID, Map<UUID, Outbid>> unreadOutbid;
+    private final Cache<UUID, AtomicLong> unreadCounts;
 
     public NotificationService(NotificationRepository notificationRepository,
-            ApplicationEventPublisher eventPublisher) {
+            NotificationWriter notificationWriter,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${livebid.notifications.collapse-outbid:true}") boolean collapseOutbid,
+            @Value("${livebid.notifications.collapse-max-users:100000}") long maxUsers,
+            @Value("${livebid.notifications.max-limit:100}") int maxLimit,
+            @Value("${livebid.notifications.unread-count.max-users:100000}") long maxCountedUsers,
+            @Value("${livebid.notifications.unread-count.ttl-seconds:300}") long countTtlSeconds) {
         this.notificationRepository = notificationRepository;
+        this.notificationWriter = notificationWriter;
         this.eventPublisher = eventPublisher;
+        this.collapseOutbid = collapseOutbid;
+        this.maxLimit = maxLimit;
+        this.unreadOutbid = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofDays(1))
+                .build();
+        // Incrementing a count is not a write, so every count is recounted once per TTL
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(maxCountedUsers)
+                .expireAfterWrite(Duration.ofSeconds(countTtlSeconds))
+                .build();
     }
 
-    @Transactional
+    /**
+     * Queues the notification for a batched write and pushes it right away from
+     * memory. It shows up in {@link #getNotifications} once its batch commits,
+     * normally within {@code livebid.notifications.batch.window-ms}. A collapsed
+     * OUTBID keeps the id of the notification it replaces, so clients update that
+     * entry in place, and its creation time, so it keeps its place in the inbox.
+     */
     public Notification createNotification(UUID userId, String type, String message, UUID auctionId) {
         Notification notification = new Notification(userId, type, message, auctionId);
-        Notification saved = notificationRepository.save(notification);
+        // Postgres keeps microseconds; truncate so the pushed copy matches the stored row
+        notification.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        if (collapseOutbid && OUTBID.equals(type) && auctionId != null) {
+            // Only the row is chosen in the map; the writer is called outside it, as it may write inline
+            Outbid created = new Outbid(TimeOrderedUuid.next(), notification.getCreatedAt());
+            Outbid outbid = unreadOutbid.get(userId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(auctionId, auction -> created);
+            notification.setId(outbid.id());
+            if (outbid == created) {
+                insert(notification);
+            } else {
+                notification.setCreatedAt(outbid.createdAt());
+                notificationWriter.update(notification);
+            }
+        } else {
+            notification.setId(TimeOrderedUuid.next());
+            insert(notification);
+        }
 
         // Publish event for WebSocket
-        eventPublisher.publishEvent(new NotificationCreatedEvent(saved));
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
 
-        return saved;
+        return notification;
     }
 
-    @Transactional(readOnly = true)
-    public List<Notification> getNotifications(UUID userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @PostConstruct
+    public void listenForReadRows() {
+        notificationWriter.onReadBeforeUpdate(this::outbidAfterRead);
     }
 
     @Transactional(readOnly = true)
+    public NotificationPage getNotifications(UUID userId, int limit, String cursor) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        ScrollPosition position = cursor == null ? ScrollPosition.keyset() : decodeCursor(cursor);
+        Window<Notification> window = notificationRepository.findByUserId(userId, position, NEWEST_FIRST,
+                Limit.of(limit));
+        List<Notification> notifications = window.getContent();
+        String nextCursor = window.hasNext() && !notifications.isEmpty()
+                ? encodeCursor(notifications.get(notifications.size() - 1))
+                : null;
+        return new NotificationPage(notifications, nextCursor);
+    }
+
     public long getUnreadCount(UUID userId) {
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return unreadCounts.get(userId, id -> new AtomicLong(notificationRepository.countByUserIdAndReadFalse(id)))
+                .get();
     }
 
-    @Transactional
-    public void markAsRead(UUID notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(n -> {
-            n.setRead(true);
-            notificationRepository.save(n);
-        });
+    // Not transactional: the writer commits the user's queued rows first, in its own transaction
+    public void markAsRead(UUID userId, UUID notificationId) {
+        forgetOutbid(userId, notificationId);
+        notificationWriter.flush(userId);
+        if (notificationRepository.markRead(userId, notificationId) > 0) {
+            adjustUnreadCount(userId, -1);
+        }
     }
 
-    @Transactional
     public void markAllAsRead(UUID userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        notifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(notifications);
+        unreadOutbid.invalidate(userId);
+        notificationWriter.flush(userId);
+        notificationRepository.markAllRead(userId);
+        unreadCounts.put(userId, new AtomicLong());
+    }
+
+    private void insert(Notification notification) {
+        notificationWriter.submit(notification);
+        adjustUnreadCount(notification.getUserId(), 1);
+    }
+
+    // Counts not in memory are left alone; the next read counts them from the table
+    private void adjustUnreadCount(UUID userId, long delta) {
+        AtomicLong count = unreadCounts.getIfPresent(userId);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current + delta));
+        }
+    }
+
+    // The collapsed row was read before the outbid reached it, so the outbid goes out again as a new row
+    private void outbidAfterRead(Notification outbid) {
+        forgetOutbid(outbid.getUserId(), outbid.getId());
+        createNotification(outbid.getUserId(), outbid.getType(), outbid.getMessage(), outbid.getAuctionId());
+    }
+
+    // Once read, the next outbid for the auction starts a new unread notification
+    private void forgetOutbid(UUID userId, UUID notificationId) {
+        Map<UUID, Outbid> auctions = unreadOutbid.getIfPresent(userId);
+        if (auctions != null) {
+            auctions.values().removeIf(outbid -> outbid.id().equals(notificationId));
+        }
+    }
+
+    private static String encodeCursor(Notification last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return ScrollPosition.forward(Map.of("createdAt", LocalDateTime.parse(parts[0]),
+                    "id", UUID.fromString(parts[1])));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Outbid(UUID id, LocalDateTime createdAt) {
     }
 
     // Event class for WebSocket publishing
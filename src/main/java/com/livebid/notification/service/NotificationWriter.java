@@ -0,0 +1,287 @@
+package com.livebid.notification.service;
+
+import com.livebid.notification.model.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind persistence for notifications. Callers enqueue and return; a
+ * single writer thread collects up to {@code livebid.notifications.batch.max-size}
+ * rows or {@code livebid.notifications.batch.window-ms} and writes them in one
+ * transaction of JDBC batch inserts and upserts. Writes to a row still queued
+ * are merged into it: an update to a queued insert just changes the message it
+ * will insert, so a collapsed notification costs one statement per batch.
+ *
+ * <p>An update whose insert has already been taken is written as an upsert of
+ * the whole row that only rewrites the message of an existing unread one, so it
+ * is correct whether the insert committed, failed or is still in flight. An
+ * update that finds its row already read, possibly on another node, changes
+ * nothing and is handed to the {@link #onReadBeforeUpdate} listener. Flushes
+ * run one at a time, so a later flush never commits ahead of an earlier one.
+ *
+ * <p>Durability: when the queue is full the caller writes its own row, so
+ * nothing is dropped under load. On shutdown the writer drains the queue before
+ * the datasource closes. A batch that still fails after retries is logged and
+ * dropped; notifications are informational and the auction state they describe
+ * is already committed. Rows still queued when the process is killed are lost.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationWriter.class);
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(id, user_id, type, message, auction_id, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?) ";
+    // Idempotent, so a retried batch whose first attempt did commit goes through
+    private static final String INSERT_NEW_SQL = INSERT_SQL + "ON CONFLICT DO NOTHING";
+    // Read flag and creation time stay as stored, and a read row is left alone: reads are never undone
+    private static final String UPSERT_SQL = INSERT_SQL
+            + "ON CONFLICT (id) DO UPDATE SET message = EXCLUDED.message WHERE notifications.is_read = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // Ids of rows to write; their content is in pending until a flush takes it
+    private final BlockingQueue<UUID> queue;
+    private final ConcurrentHashMap<UUID, Write> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+    private final Counter callerWrites;
+    private final Counter dropped;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile Consumer<Notification> readListener = notification -> {
+    };
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${livebid.notifications.batch.window-ms:20}") long windowMs,
+            @Value("${livebid.notifications.batch.max-size:500}") int maxSize,
+            @Value("${livebid.notifications.batch.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxSize = maxSize;
+        this.batchSize = DistributionSummary.builder("livebid.notifications.batch.size")
+                .description("Notifications inserted per batch")
+                .register(meterRegistry);
+        this.callerWrites = Counter.builder("livebid.notifications.queue.full")
+                .description("Notifications inserted by the caller because the write-behind queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("livebid.notifications.dropped")
+                .description("Notifications dropped after repeated insert failures")
+                .register(meterRegistry);
+        Gauge.builder("livebid.notifications.queue", queue, BlockingQueue::size)
+                .description("Notifications waiting to be inserted")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        // Daemon: shutdown() drains the queue, so the thread never has to hold the JVM up
+        writer = Thread.ofPlatform().name("notification-writer").daemon(true).start(this::run);
+    }
+
+    /**
+     * Queues a new notification whose id and creation time are already set.
+     */
+    public void submit(Notification notification) {
+        enqueue(new Write(notification, true));
+    }
+
+    /**
+     * Queues a new message for a notification already submitted. Its read flag
+     * and creation time are left as they are.
+     */
+    public void update(Notification notification) {
+        enqueue(new Write(notification, false));
+    }
+
+    /**
+     * Registers the callback for updates whose row had already been read, called
+     * with the update's content after its batch commits.
+     */
+    public void onReadBeforeUpdate(Consumer<Notification> listener) {
+        this.readListener = listener;
+    }
+
+    /**
+     * Writes the user's queued notifications now, and waits for any batch already
+     * holding some of them to commit, so that reads and updates of the user's
+     * rows that follow see every notification created before the call.
+     */
+    public void flush(UUID userId) {
+        List<UUID> ids = new ArrayList<>();
+        pending.forEach((id, write) -> {
+            if (userId.equals(write.notification().getUserId())) {
+                ids.add(id);
+            }
+        });
+        flush(ids);
+    }
+
+    private void enqueue(Write write) {
+        UUID id = write.notification().getId();
+        if (pending.merge(id, write, Write::merge) != write) {
+            // Merged into a write that is already queued
+            return;
+        }
+        if (!running || !queue.offer(id)) {
+            callerWrites.increment();
+            flush(List.of(id));
+        }
+    }
+
+    private void run() {
+        List<UUID> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                UUID first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    UUID next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<UUID> ids) {
+        List<Notification> alreadyRead;
+        flushLock.lock();
+        try {
+            // Even with nothing left to take, holding the lock waits out the batch in flight
+            // Taken under the lock, so whatever is merged in after this goes out in a later flush
+            List<Object[]> inserts = new ArrayList<>();
+            List<Notification> updates = new ArrayList<>();
+            for (UUID id : ids) {
+                Write write = pending.remove(id);
+                if (write == null) {
+                    continue;
+                }
+                if (write.insert()) {
+                    inserts.add(row(write.notification()));
+                } else {
+                    updates.add(write.notification());
+                }
+            }
+            if (inserts.isEmpty() && updates.isEmpty()) {
+                return;
+            }
+            alreadyRead = write(inserts, updates);
+        } finally {
+            flushLock.unlock();
+        }
+        // Outside the lock: the listener may submit again
+        for (Notification notification : alreadyRead) {
+            try {
+                readListener.accept(notification);
+            } catch (RuntimeException e) {
+                log.warn("Listener for read notification {} failed: {}", notification.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // Returns the updates that changed nothing because their row was already read
+    private List<Notification> write(List<Object[]> inserts, List<Notification> updates) {
+        int size = inserts.size() + updates.size();
+        List<Object[]> upserts = updates.stream().map(NotificationWriter::row).toList();
+        for (int attempt = 1;; attempt++) {
+            try {
+                int[] counts = transactionTemplate.execute(status -> {
+                    if (!inserts.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_NEW_SQL, inserts);
+                    }
+                    return upserts.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+                });
+                batchSize.record(size);
+                List<Notification> alreadyRead = new ArrayList<>();
+                for (int i = 0; counts != null && i < Math.min(counts.length, updates.size()); i++) {
+                    // SUCCESS_NO_INFO (-2) means the driver could not tell, so the update is taken as applied
+                    if (counts[i] == 0) {
+                        alreadyRead.add(updates.get(i));
+                    }
+                }
+                return alreadyRead;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_FLUSH_ATTEMPTS) {
+                    dropped.increment(size);
+                    log.error("Dropping {} notifications after {} attempts", size, attempt, e);
+                    return List.of();
+                }
+                log.warn("Retrying notification batch of {}: {}", size, e.getMessage());
+            }
+        }
+    }
+
+    private static Object[] row(Notification n) {
+        return new Object[] { n.getId(), n.getUserId(), n.getType(), n.getMessage(), n.getAuctionId(), n.isRead(),
+                Timestamp.valueOf(n.getCreatedAt()) };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.error("Notification writer stopped with {} notifications unwritten", queue.size());
+        }
+    }
+
+    private record Write(Notification notification, boolean insert) {
+
+        // An update takes the queued write's row with the new message; an insert is always the first write of a row
+        Write merge(Write later) {
+            if (later.insert()) {
+                return new Write(notification, true);
+            }
+            Notification merged = new Notification(notification.getUserId(), notification.getType(),
+                    later.notification().getMessage(), notification.getAuctionId());
+            merged.setId(notification.getId());
+            merged.setRead(notification.isRead());
+            merged.setCreatedAt(notification.getCreatedAt());
+            return new Write(merged, insert);
+        }
+    }
+}
@@ -2,10 +2,9 @@ package com.livebid.user.controller;
 
 import com.livebid.auction.dto.AuctionResponse;
 import com.livebid.auction.dto.SettlementResponse;
-import com.livebid.auction.model.Auction;
 import com.livebid.auction.model.AuctionSettlement;
-import com.livebid.auction.repository.AuctionRepository;
 import com.livebid.auction.repository.AuctionSettlementRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
 import com.livebid.auction.service.AuctionService;
 import com.livebid.user.dto.CreateUserRequest;
 import com.livebid.user.dto.UserResponse;
@@ -26,17 +25,17 @@ public class UserController {
     private final UserService userService;
     private final AuctionService auctionService;
     private final AuctionSettlementRepository settlementRepository;
-    private final AuctionRepository auctionRepository;
+    private final AuctionMetadataCache auctionMetadata;
     private final UserRepository userRepository;
 
     public UserController(UserService userService, AuctionService auctionService,
             AuctionSettlementRepository settlementRepository,
-            AuctionRepository auctionRepository,
+            AuctionMetadataCache auctionMetadata,
             UserRepository userRepository) {
         this.userService = userService;
         this.auctionService = auctionService;
         this.settlementRepository = settlementRepository;
-        this.auctionRepository = auctionRepository;
+        this.auctionMetadata = auctionMetadata;
         this.userRepository = userRepository;
     }
 
@@ -76,13 +75,15 @@ public class UserController {
     }
 
     private SettlementResponse mapToSettlementResponse(AuctionSettlement settlement, UUID counterpartyId) {
-        Auction auction = auctionRepository.findById(settlement.getAuctionId()).orElse(null);
+        String title = auctionMetadata.get(settlement.getAuctionId())
+                .map(AuctionMetadataCache.Metadata::title)
+                .orElse("Unknown Auction");
         User counterparty = userRepository.findById(counterpartyId).orElse(null);
 
         return new SettlementResponse(
                 settlement.getId(),
                 settlement.getAuctionId(),
-                auction != null ? auction.getTitle() : "Unknown Auction",
+                title,
                 counterpartyId,
                 counterparty != null ? counterparty.getEmail() : "Unknown",
                 settlement.getAmount(),
@@ -4,11 +4,13 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@DynamicUpdate // Profile updates must not write back balances the wallet may be changing
 @Getter
 @Setter
 @NoArgsConstructor // Assuming Lombok is available check pom, if not generate getters/setters
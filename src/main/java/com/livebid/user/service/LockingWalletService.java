@@ -0,0 +1,88 @@
+package com.livebid.user.service;
+
+import com.livebid.user.event.UserBalanceChangedEvent;
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Default wallet: every change takes a {@code PESSIMISTIC_WRITE} lock on the user row
+ * and writes it back in the caller's transaction.
+ */
+@Service
+@ConditionalOnProperty(name = "livebid.wallet.mode", havingValue = "locking", matchIfMissing = true)
+public class LockingWalletService implements WalletService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LockingWalletService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(UUID userId, long amount) {
+        User user = lock(userId);
+        if (user.getAvailableBalance() < amount) {
+            throw new IllegalArgumentException("Insufficient funds");
+        }
+        apply(user, -amount, amount);
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID userId, long amount) {
+        apply(lock(userId), amount, -amount);
+    }
+
+    @Override
+    @Transactional
+    public void capture(UUID userId, long amount) {
+        User user = lock(userId);
+        if (user.getReservedBalance() < amount) {
+            throw new IllegalStateException("Winner has insufficient funds");
+        }
+        apply(user, 0, -amount);
+    }
+
+    @Override
+    @Transactional
+    public void credit(UUID userId, long amount) {
+        apply(lock(userId), amount, 0);
+    }
+
+    @Override
+    @Transactional
+    public void reserveForBid(UUID bidderId, long amount, UUID previousLeaderId, long refundAmount) {
+        reserve(bidderId, amount);
+        if (previousLeaderId != null) {
+            release(previousLeaderId, refundAmount);
+        }
+    }
+
+    @Override
+    public Optional<Balance> pendingBalance(UUID userId) {
+        return Optional.empty();
+    }
+
+    private User lock(UUID userId) {
+        return userRepository.findByIdWithLock(userId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + userId));
+    }
+
+    private void apply(User user, long availableDelta, long reservedDelta) {
+        user.setAvailableBalance(user.getAvailableBalance() + availableDelta);
+        user.setReservedBalance(user.getReservedBalance() + reservedDelta);
+        userRepository.save(user);
+        eventPublisher.publishEvent(
+                new UserBalanceChangedEvent(user.getId(), user.getAvailableBalance(), user.getReservedBalance()));
+    }
+}
@@ -0,0 +1,304 @@
+package com.livebid.user.service;
+
+import com.livebid.user.event.UserBalanceChangedEvent;
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory wallet striped by user id. Balances are authoritative in memory once a
+ * user has been touched, so bids never take user row locks; net balance deltas are
+ * flushed to {@code users} in one JDBC batch every
+ * {@code livebid.wallet.flush-interval-ms}. Single node only.
+ */
+@Service
+@ConditionalOnProperty(name = "livebid.wallet.mode", havingValue = "striped")
+public class StripedWalletService implements WalletService {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedWalletService.class);
+    private static final String FLUSH_SQL = "UPDATE users SET available_balance = available_balance + ?, "
+            + "reserved_balance = reserved_balance + ? WHERE id = ?";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Stripe[] stripes;
+
+    public StripedWalletService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            @Value("${livebid.wallet.stripes:64}") int stripeCount) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void reserve(UUID userId, long amount) {
+        apply(userId, -amount, amount, account -> {
+            if (account.available < amount) {
+                throw new IllegalArgumentException("Insufficient funds");
+            }
+        });
+        undoOnRollback(() -> apply(userId, amount, -amount, null));
+    }
+
+    @Override
+    public void release(UUID userId, long amount) {
+        apply(userId, amount, -amount, null);
+        undoOnRollback(() -> apply(userId, -amount, amount, null));
+    }
+
+    @Override
+    public void capture(UUID userId, long amount) {
+        apply(userId, 0, -amount, account -> {
+            if (account.reserved < amount) {
+                throw new IllegalStateException("Winner has insufficient funds");
+            }
+        });
+        undoOnRollback(() -> apply(userId, 0, amount, null));
+    }
+
+    @Override
+    public void credit(UUID userId, long amount) {
+        apply(userId, amount, 0, null);
+        undoOnRollback(() -> apply(userId, -amount, 0, null));
+    }
+
+    @Override
+    public void reserveForBid(UUID bidderId, long amount, UUID previousLeaderId, long refundAmount) {
+        if (previousLeaderId == null) {
+            reserve(bidderId, amount);
+            return;
+        }
+        Stripe bidderStripe = stripeFor(bidderId);
+        Stripe leaderStripe = stripeFor(previousLeaderId);
+        // Loading is the only step that can fail after the funds check, so do both before changing anything
+        Account loadedBidder = load(bidderStripe, bidderId);
+        Account loadedLeader = load(leaderStripe, previousLeaderId);
+
+        // Both stripes are held, in index order, so either both changes happen or neither does
+        Stripe first = stripeIndex(bidderId) <= stripeIndex(previousLeaderId) ? bidderStripe : leaderStripe;
+        Stripe second = first == bidderStripe ? leaderStripe : bidderStripe;
+        UserBalanceChangedEvent bidderChanged;
+        UserBalanceChangedEvent leaderChanged;
+        first.lock.lock();
+        second.lock.lock();
+        try {
+            Account bidder = account(bidderStripe, bidderId, loadedBidder);
+            Account leader = account(leaderStripe, previousLeaderId, loadedLeader);
+            if (bidder.available < amount) {
+                throw new IllegalArgumentException("Insufficient funds");
+            }
+            change(bidderStripe, bidderId, bidder, -amount, amount);
+            change(leaderStripe, previousLeaderId, leader, refundAmount, -refundAmount);
+            bidderChanged = new UserBalanceChangedEvent(bidderId, bidder.available, bidder.reserved);
+            leaderChanged = new UserBalanceChangedEvent(previousLeaderId, leader.available, leader.reserved);
+        } finally {
+            second.lock.unlock();
+            first.lock.unlock();
+        }
+
+        eventPublisher.publishEvent(bidderChanged);
+        eventPublisher.publishEvent(leaderChanged);
+        undoOnRollback(() -> {
+            apply(bidderId, amount, -amount, null);
+            apply(previousLeaderId, -refundAmount, refundAmount, null);
+        });
+    }
+
+    @Override
+    public Optional<Balance> pendingBalance(UUID userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            Account account = stripe.accounts.get(userId);
+            return account == null ? Optional.empty()
+                    : Optional.of(new Balance(account.available, account.reserved));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${livebid.wallet.flush-interval-ms:50}")
+    public void flush() {
+        Map<UUID, Delta> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.pending.isEmpty()) {
+                    batch.putAll(stripe.pending);
+                    stripe.pending = new HashMap<>();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Fixed row order keeps concurrent writers of the same users deadlock-free
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .forEach(e -> rows.add(new Object[] { e.getValue().available, e.getValue().reserved, e.getKey() }));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+        } catch (RuntimeException e) {
+            log.warn("Wallet flush of {} users failed, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach((userId, delta) -> {
+                Stripe stripe = stripeFor(userId);
+                stripe.lock.lock();
+                try {
+                    stripe.pending.computeIfAbsent(userId, id -> new Delta()).add(delta.available, delta.reserved);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void apply(UUID userId, long availableDelta, long reservedDelta, Check check) {
+        Stripe stripe = stripeFor(userId);
+        Account loaded = load(stripe, userId);
+
+        long available;
+        long reserved;
+        stripe.lock.lock();
+        try {
+            Account account = account(stripe, userId, loaded);
+            if (check != null) {
+                check.verify(account);
+            }
+            change(stripe, userId, account, availableDelta, reservedDelta);
+            available = account.available;
+            reserved = account.reserved;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        eventPublisher.publishEvent(new UserBalanceChangedEvent(userId, available, reserved));
+    }
+
+    // Loads outside the stripe lock; null if already loaded. An account never has pending deltas before it is loaded
+    private Account load(Stripe stripe, UUID userId) {
+        if (isLoaded(stripe, userId)) {
+            return null;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + userId));
+        return new Account(user.getAvailableBalance(), user.getReservedBalance());
+    }
+
+    // Caller holds the stripe lock. Accounts are never evicted, so a miss means the caller loaded it
+    private static Account account(Stripe stripe, UUID userId, Account loaded) {
+        Account account = stripe.accounts.get(userId);
+        if (account == null) {
+            account = loaded;
+            stripe.accounts.put(userId, account);
+        }
+        return account;
+    }
+
+    // Caller holds the stripe lock
+    private static void change(Stripe stripe, UUID userId, Account account, long availableDelta,
+            long reservedDelta) {
+        account.available += availableDelta;
+        account.reserved += reservedDelta;
+        stripe.pending.computeIfAbsent(userId, id -> new Delta()).add(availableDelta, reservedDelta);
+    }
+
+    private boolean isLoaded(Stripe stripe, UUID userId) {
+        stripe.lock.lock();
+        try {
+            return stripe.accounts.containsKey(userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void undoOnRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+
+    private Stripe stripeFor(UUID userId) {
+        return stripes[stripeIndex(userId)];
+    }
+
+    private int stripeIndex(UUID userId) {
+        return Math.floorMod(userId.hashCode(), stripes.length);
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        void verify(Account account);
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<UUID, Account> accounts = new HashMap<>();
+        Map<UUID, Delta> pending = new HashMap<>();
+    }
+
+    private static final class Account {
+        long available;
+        long reserved;
+
+        Account(long available, long reserved) {
+            this.available = available;
+            this.reserved = reserved;
+        }
+    }
+
+    private static final class Delta {
+        long available;
+        long reserved;
+
+        void add(long availableDelta, long reservedDelta) {
+            available += availableDelta;
+            reserved += reservedDelta;
+        }
+    }
+}
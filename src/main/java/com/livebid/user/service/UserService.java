@@ -13,9 +13,11 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final WalletService walletService;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, WalletService walletService) {
         this.userRepository = userRepository;
+        this.walletService = walletService;
     }
 
     @Transactional
@@ -42,10 +44,13 @@ public class UserService {
 
     // Helper to map User to UserResponse
     private UserResponse mapToResponse(User user) {
+        // The wallet may hold balance changes that have not been flushed to the row yet
+        WalletService.Balance balance = walletService.pendingBalance(user.getId())
+                .orElse(new WalletService.Balance(user.getAvailableBalance(), user.getReservedBalance()));
         return new UserResponse(
                 user.getId(),
                 user.getEmail(),
-                user.getAvailableBalance(),
-                user.getReservedBalance());
+                balance.availableBalance(),
+                balance.reservedBalance());
     }
 }
@@ -0,0 +1,49 @@
+package com.livebid.user.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Moves money between a user's available and reserved balances. Every change
+ * publishes a {@link com.livebid.user.event.UserBalanceChangedEvent}.
+ */
+public interface WalletService {
+
+    /**
+     * Moves {@code amount} from available to reserved.
+     *
+     * @throws IllegalArgumentException if the available balance is too low
+     */
+    void reserve(UUID userId, long amount);
+
+    /**
+     * Returns a previously reserved {@code amount} to the available balance.
+     */
+    void release(UUID userId, long amount);
+
+    /**
+     * Takes {@code amount} out of the reserved balance for good, e.g. when an auction is won.
+     *
+     * @throws IllegalStateException if less than {@code amount} is reserved
+     */
+    void capture(UUID userId, long amount);
+
+    /**
+     * Adds {@code amount} to the available balance, e.g. sale proceeds.
+     */
+    void credit(UUID userId, long amount);
+
+    /**
+     * Reserves a new leading bid and refunds the reservation of the leader it replaces
+     * as one unit.
+     */
+    void reserveForBid(UUID bidderId, long amount, UUID previousLeaderId, long refundAmount);
+
+    /**
+     * Balance that is newer than the {@code users} row, if this wallet holds one.
+     */
+    Optional<Balance> pendingBalance(UUID userId);
+
+    record Balance(long availableBalance, long reservedBalance) {
+    }
+}
@@ -0,0 +1,8 @@
+-- Moves the cached price up to a committed bid. Never creates the book.
+-- KEYS[1] = auction:{id}:book   ARGV[1] = committed amount
+local price = redis.call('HGET', KEYS[1], 'price')
+if price and tonumber(price) < tonumber(ARGV[1]) then
+    redis.call('HSET', KEYS[1], 'price', ARGV[1])
+    return 1
+end
+return 0
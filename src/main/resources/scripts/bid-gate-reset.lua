@@ -0,0 +1,14 @@
+-- Sets the cached price to the committed one, even downwards, after bids that
+-- passed the gate were rejected by the durable path, and forgets their failed
+-- claims. Never creates the book.
+-- KEYS[1] = auction:{id}:book   ARGV[1] = committed price
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+    if string.sub(field, 1, 7) == 'failed:' then
+        redis.call('HDEL', KEYS[1], field)
+    end
+end
+redis.call('HSET', KEYS[1], 'price', ARGV[1])
+return 1
@@ -0,0 +1,24 @@
+-- Rolls the cached price back after the durable path rejected a bid that passed
+-- the gate. If a higher bid has moved the price on since, the rejected claim is
+-- only recorded as failed:<amount> = price before it; when the bids above it
+-- fail too, the price unwinds past every failed claim to the last live one.
+-- KEYS[1] = auction:{id}:book   ARGV[1] = rejected amount   ARGV[2] = price before it
+local price = redis.call('HGET', KEYS[1], 'price')
+if not price then
+    return 0
+end
+if tonumber(price) ~= tonumber(ARGV[1]) then
+    if tonumber(price) > tonumber(ARGV[1]) then
+        redis.call('HSET', KEYS[1], 'failed:' .. ARGV[1], ARGV[2])
+    end
+    return 0
+end
+local target = ARGV[2]
+local below = redis.call('HGET', KEYS[1], 'failed:' .. target)
+while below do
+    redis.call('HDEL', KEYS[1], 'failed:' .. target)
+    target = below
+    below = redis.call('HGET', KEYS[1], 'failed:' .. target)
+end
+redis.call('HSET', KEYS[1], 'price', target)
+return 1
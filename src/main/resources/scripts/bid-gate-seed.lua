@@ -0,0 +1,10 @@
+-- Seeds or refreshes the cached auction book. The price only ever moves up so a
+-- late seed from the database cannot undo a bid that already passed the gate.
+-- KEYS[1] = auction:{id}:book   ARGV = status, endTime (epoch millis), price, ttl seconds
+local price = redis.call('HGET', KEYS[1], 'price')
+if not price or tonumber(price) < tonumber(ARGV[3]) then
+    price = ARGV[3]
+end
+redis.call('HSET', KEYS[1], 'status', ARGV[1], 'endTime', ARGV[2], 'price', price)
+redis.call('EXPIRE', KEYS[1], ARGV[4])
+return 1
@@ -0,0 +1,24 @@
+-- Atomically checks a bid against the cached auction book and, if it would win,
+-- moves the cached price up to it. Mirrors BidRules: max(5% of price, 100).
+-- KEYS[1] = auction:{id}:book   ARGV[1] = amount   ARGV[2] = now (epoch millis)
+-- Returns {code, price}: 0 = not cached, 1 = passed, 2 = not live, 3 = ended, 4 = too low
+local book = redis.call('HMGET', KEYS[1], 'status', 'endTime', 'price')
+if not book[1] then
+    return {0, 0}
+end
+local price = tonumber(book[3])
+if book[1] ~= 'LIVE' then
+    return {2, price}
+end
+if tonumber(ARGV[2]) > tonumber(book[2]) then
+    return {3, price}
+end
+local amount = tonumber(ARGV[1])
+local increment = math.max(math.floor(price * 0.05), 100)
+if amount < price + increment then
+    return {4, price}
+end
+redis.call('HSET', KEYS[1], 'price', ARGV[1])
+-- A fresh claim at an amount that failed before is live again
+redis.call('HDEL', KEYS[1], 'failed:' .. ARGV[1])
+return {1, price}
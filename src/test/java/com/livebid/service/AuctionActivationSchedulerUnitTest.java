@@ -0,0 +1,133 @@
+package com.livebid.service;
+
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
+import com.livebid.infrastructure.scheduler.AuctionActivationScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionActivationSchedulerUnitTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void testDueAuctions_ActivatedWithOneUpdateAndWarmed() throws Exception {
+        AuctionMetadataCache metadata = new AuctionMetadataCache(auctionRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(30));
+        AuctionActivationScheduler scheduler = new AuctionActivationScheduler(jdbcTemplate, transactionTemplate,
+                eventPublisher, metadata, new SimpleMeterRegistry(), 500);
+        runInTransaction(true);
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime endTime = LocalDateTime.now().plusHours(1);
+        claim(endTime, first, second);
+
+        scheduler.activateDueAuctions();
+
+        ArgumentCaptor<MapSqlParameterSource> ids = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(1)).update(startsWith("UPDATE"), ids.capture());
+        assertEquals(List.of(first, second), ids.getValue().getValue("ids"));
+        verify(eventPublisher).publishEvent(new AuctionStartedEvent(first, 1000, endTime));
+        verify(eventPublisher).publishEvent(new AuctionStartedEvent(second, 1000, endTime));
+        assertEquals("Vintage Watch", metadata.get(second).orElseThrow().title());
+        verifyNoInteractions(auctionRepository);
+    }
+
+    @Test
+    void testRolledBackBatch_LeavesMetadataCold() throws Exception {
+        AuctionMetadataCache metadata = new AuctionMetadataCache(auctionRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(30));
+        AuctionActivationScheduler scheduler = new AuctionActivationScheduler(jdbcTemplate, transactionTemplate,
+                eventPublisher, metadata, new SimpleMeterRegistry(), 500);
+        runInTransaction(false);
+        UUID auctionId = UUID.randomUUID();
+        claim(LocalDateTime.now().plusHours(1), auctionId);
+
+        scheduler.activateDueAuctions();
+
+        // Not cached, so the lookup goes to the (still SCHEDULED) row
+        assertTrue(metadata.get(auctionId).isEmpty());
+        verify(auctionRepository).findById(auctionId);
+    }
+
+    // Runs the batch with transaction synchronization, then commits or rolls back
+    private void runInTransaction(boolean commit) {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                Object result = invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                        .getSynchronizations()) {
+                    if (commit) {
+                        synchronization.afterCommit();
+                    }
+                    synchronization.afterCompletion(commit ? TransactionSynchronization.STATUS_COMMITTED
+                            : TransactionSynchronization.STATUS_ROLLED_BACK);
+                }
+                return result;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+    }
+
+    private void claim(LocalDateTime endTime, UUID... auctionIds) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(auctionIds[0],
+                Arrays.copyOfRange(auctionIds, 1, auctionIds.length));
+        when(rs.getObject("seller_id", UUID.class)).thenReturn(UUID.randomUUID());
+        when(rs.getString("title")).thenReturn("Vintage Watch");
+        when(rs.getLong("current_price")).thenReturn(1000L);
+        when(rs.getTimestamp("end_time")).thenReturn(Timestamp.valueOf(endTime));
+        when(jdbcTemplate.query(startsWith("SELECT"), any(SqlParameterSource.class),
+                ArgumentMatchers.<RowMapper<UUID>>any()))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(2);
+                    List<Object> rows = new ArrayList<>();
+                    for (int i = 0; i < auctionIds.length; i++) {
+                        rows.add(mapper.mapRow(rs, i));
+                    }
+                    return rows;
+                });
+    }
+}
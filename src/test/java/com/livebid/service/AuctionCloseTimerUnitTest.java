@@ -0,0 +1,61 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.BidEngine;
+import com.livebid.auction.service.BulkAuctionCloser;
+import com.livebid.infrastructure.scheduler.AuctionCloseTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionCloseTimerUnitTest {
+
+    @Mock
+    private BidEngine bidEngine;
+
+    @Mock
+    private ObjectProvider<BulkAuctionCloser> bulkCloser;
+
+    private AuctionCloseTimer closeTimer;
+
+    @AfterEach
+    void tearDown() {
+        closeTimer.shutdown();
+    }
+
+    @Test
+    void testEndTimesAcrossLevels_EachClosedOnceAfterItsEnd() {
+        // 1 ms ticks over 8 slots: 5 ms fires from level 0, 40 ms and 300 ms cascade down from levels 1 and 2
+        closeTimer = new AuctionCloseTimer(bidEngine, bulkCloser, new SimpleMeterRegistry(), 1, 8, 2);
+        closeTimer.start();
+        LocalDateTime now = LocalDateTime.now();
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        UUID latest = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+
+        closeTimer.schedule(latest, now.plusNanos(300_000_000));
+        closeTimer.schedule(soon, now.plusNanos(5_000_000));
+        closeTimer.schedule(later, now.plusNanos(40_000_000));
+        closeTimer.schedule(later, now.plusNanos(40_000_000));
+        closeTimer.schedule(expired, now.minusSeconds(1));
+
+        verify(bidEngine, timeout(1000)).closeAuction(expired);
+        verify(bidEngine, timeout(1000)).closeAuction(soon);
+        verify(bidEngine, timeout(1000)).closeAuction(later);
+        verify(bidEngine, after(100).never()).closeAuction(latest);
+        verify(bidEngine, timeout(1000)).closeAuction(latest);
+        assertEquals(0, closeTimer.scheduled());
+        verify(bidEngine, times(4)).closeAuction(any());
+    }
+}
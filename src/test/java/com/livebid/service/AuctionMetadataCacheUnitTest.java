@@ -0,0 +1,47 @@
+package com.livebid.service;
+
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionMetadataCacheUnitTest {
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRepeatedLookups_QueryOnceUntilInvalidated() {
+        AuctionMetadataCache cache = new AuctionMetadataCache(auctionRepository, meterRegistry, 100,
+                Duration.ofMinutes(30));
+        Auction auction = new Auction();
+        auction.setId(UUID.randomUUID());
+        auction.setSellerId(UUID.randomUUID());
+        auction.setTitle("Vintage Watch");
+        when(auctionRepository.findById(auction.getId())).thenReturn(Optional.of(auction));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Vintage Watch", cache.get(auction.getId()).orElseThrow().title());
+        }
+        verify(auctionRepository, times(1)).findById(auction.getId());
+        assertEquals(0.9, meterRegistry.get("livebid.auction-metadata.hit-ratio").gauge().value(), 1e-9);
+
+        cache.invalidate(auction.getId());
+        assertEquals(auction.getSellerId(), cache.get(auction.getId()).orElseThrow().sellerId());
+        verify(auctionRepository, times(2)).findById(auction.getId());
+    }
+}
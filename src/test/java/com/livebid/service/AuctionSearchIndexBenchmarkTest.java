@@ -0,0 +1,150 @@
+package com.livebid.service;
+
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionSearchIndex;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Query latency of {@link AuctionSearchIndex} over {@value #AUCTIONS} auctions
+ * whose titles and descriptions draw words from a Zipf-distributed vocabulary,
+ * against a scan of every auction's lower-cased text for the query substring,
+ * which is what the {@code LIKE '%q%'} search did (minus the I/O). Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class AuctionSearchIndexBenchmarkTest {
+
+    private static final int AUCTIONS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int TITLE_WORDS = 4;
+    private static final int DESCRIPTION_WORDS = 20;
+    private static final int QUERIES = 1_000;
+    private static final int SCAN_QUERIES = 20;
+    private static final String[] SYLLABLES = { "ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "pe", "da", "go",
+            "ri", "un", "el", "or", "an" };
+
+    private final Random random = new Random(42);
+    private final String[] words = vocabulary();
+    private final double[] cumulative = zipf();
+
+    @Test
+    void measureQueryLatency() {
+        AuctionSearchIndex index = new AuctionSearchIndex(mock(AuctionRepository.class), mock(JdbcTemplate.class),
+                new SimpleMeterRegistry(), 100);
+        String[] texts = new String[AUCTIONS];
+        AuctionStatus[] statuses = { AuctionStatus.SCHEDULED, AuctionStatus.LIVE, AuctionStatus.CLOSED };
+        long start = System.nanoTime();
+        for (int i = 0; i < AUCTIONS; i++) {
+            String title = text(TITLE_WORDS);
+            String description = text(DESCRIPTION_WORDS);
+            index.add(TimeOrderedUuid.next(), title, description, statuses[i % statuses.length]);
+            texts[i] = title + " " + description;
+        }
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Rank 0 is the most frequent word
+        IntFunction<String> rare = q -> words[2_000 + random.nextInt(8_000)] + " " + words[200 + random.nextInt(800)];
+        IntFunction<String> common = q -> words[random.nextInt(10)];
+        IntFunction<String> twoCommon = q -> words[random.nextInt(50)] + " " + words[random.nextInt(50)];
+        IntFunction<String> prefix = q -> words[random.nextInt(100)].substring(0, 3);
+
+        // Warm up, then measure
+        for (IntFunction<String> queries : List.of(rare, common, twoCommon, prefix)) {
+            indexLatencies(index, queries, null);
+        }
+        System.out.printf("built %d auctions in %.1f s%n", AUCTIONS, buildSeconds);
+        System.out.printf("%-22s %10s %10s %10s%n", "query", "p50 ms", "p99 ms", "max ms");
+        print("rare pair", indexLatencies(index, rare, null));
+        print("common word", indexLatencies(index, common, null));
+        print("common pair", indexLatencies(index, twoCommon, null));
+        print("3-char prefix", indexLatencies(index, prefix, null));
+        print("common pair, LIVE", indexLatencies(index, twoCommon, AuctionStatus.LIVE));
+        double[] scan = scanLatencies(texts, rare);
+        print("substring scan", scan);
+
+        assertEquals(100, index.search(words[0], null).size());
+    }
+
+    private double[] indexLatencies(AuctionSearchIndex index, IntFunction<String> queries, AuctionStatus status) {
+        double[] millis = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String query = queries.apply(i);
+            long start = System.nanoTime();
+            index.search(query, status);
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        return millis;
+    }
+
+    private double[] scanLatencies(String[] texts, IntFunction<String> queries) {
+        double[] millis = new double[SCAN_QUERIES];
+        for (int i = 0; i < SCAN_QUERIES; i++) {
+            String query = queries.apply(i);
+            long start = System.nanoTime();
+            int hits = 0;
+            for (String text : texts) {
+                if (text.contains(query)) {
+                    hits++;
+                }
+            }
+            millis[i] = (System.nanoTime() - start) / 1e6;
+            assertTrue(hits >= 0);
+        }
+        return millis;
+    }
+
+    private void print(String name, double[] millis) {
+        double[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-22s %10.3f %10.3f %10.3f%n", name, sorted[sorted.length / 2],
+                sorted[(int) Math.ceil(sorted.length * 0.99) - 1], sorted[sorted.length - 1]);
+    }
+
+    private String text(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(i == 0 ? "" : " ").append(words[rank < 0 ? Math.min(-rank - 1, VOCABULARY - 1) : rank]);
+        }
+        return text.toString();
+    }
+
+    // Distinct pronounceable words of four syllables
+    private String[] vocabulary() {
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int n = i, syllable = 0; syllable < 4; syllable++, n /= SYLLABLES.length) {
+                word.append(SYLLABLES[n % SYLLABLES.length]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+
+    private double[] zipf() {
+        double[] weights = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            weights[rank] = total;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            weights[rank] /= total;
+        }
+        return weights;
+    }
+}
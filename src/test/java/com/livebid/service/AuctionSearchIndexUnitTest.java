@@ -0,0 +1,120 @@
+package com.livebid.service;
+
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionSearchIndex;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionSearchIndexUnitTest {
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuctionSearchIndex index;
+    private UUID watch;
+    private UUID clock;
+    private UUID camera;
+
+    @BeforeEach
+    void setUp() {
+        index = new AuctionSearchIndex(auctionRepository, jdbcTemplate, new SimpleMeterRegistry(), 2);
+        watch = add("Vintage Watch", "Swiss automatic, serviced in 2023", AuctionStatus.LIVE);
+        clock = add("Mantel clock", "Vintage brass case, keeps good time. Pairs well with a watch stand",
+                AuctionStatus.SCHEDULED);
+        camera = add("Film camera", "Vintage rangefinder with leather case", AuctionStatus.LIVE);
+    }
+
+    @Test
+    void testSearch_MatchesAllTokensAndRanksTitleHitsFirst() {
+        assertEquals(List.of(watch, clock), index.search("vintage WATCH", null));
+        // Equal scores go newest first
+        assertEquals(List.of(camera, clock), index.search("case", null));
+        assertEquals(List.of(), index.search("vintage tripod", null));
+        assertEquals(List.of(watch), index.search("2023", null));
+    }
+
+    @Test
+    void testSearch_LastTokenMatchesAsPrefix() {
+        assertEquals(List.of(clock), index.search("brass ca", null));
+        assertEquals(List.of(camera), index.search("cam", null));
+        assertEquals(List.of(watch), index.search("swiss auto", null));
+    }
+
+    @Test
+    void testCanSearch_OnlyQueriesWithIndexedTerms() {
+        assertTrue(index.canSearch("lamp"));
+        assertTrue(index.canSearch("a lamp"));
+        assertFalse(index.canSearch("a b"));
+    }
+
+    @Test
+    void testSearch_FiltersByLatestStatusAndCapsResults() {
+        assertEquals(List.of(watch, camera), index.search("vintage", AuctionStatus.LIVE));
+
+        index.statusChanged(watch, AuctionStatus.CLOSED);
+        index.statusChanged(clock, AuctionStatus.LIVE);
+
+        assertEquals(List.of(watch), index.search("vintage", AuctionStatus.CLOSED));
+        assertEquals(List.of(camera, clock), index.search("vintage", AuctionStatus.LIVE));
+        // Three matches and max-results is two
+        assertEquals(List.of(watch, camera), index.search("vintage", null));
+    }
+
+    @Test
+    void testCatchUp_AddsNewAuctionsAndPicksUpRemoteStatusChanges() throws Exception {
+        index.rebuild();
+        watch = add("Vintage Watch", "Swiss automatic", AuctionStatus.LIVE);
+        clock = add("Mantel clock", "Vintage brass case", AuctionStatus.SCHEDULED);
+        Auction created = new Auction();
+        created.setId(TimeOrderedUuid.next());
+        created.setTitle("Vintage camera");
+        created.setStatus(AuctionStatus.LIVE);
+        when(auctionRepository.findCreatedAfter(any())).thenReturn(List.of(created));
+        // Another node closed the watch and started the clock; a stale LIVE row for the watch comes last
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getObject("id", UUID.class)).thenReturn(watch, clock, watch);
+        when(rows.getString("status")).thenReturn("CLOSED", "LIVE", "LIVE");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(rows);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        index.catchUp();
+
+        assertEquals(List.of(watch), index.search("vintage", AuctionStatus.CLOSED));
+        assertEquals(List.of(created.getId(), clock), index.search("vintage", AuctionStatus.LIVE));
+    }
+
+    private UUID add(String title, String description, AuctionStatus status) {
+        UUID id = TimeOrderedUuid.next();
+        index.add(id, title, description, status);
+        return id;
+    }
+}
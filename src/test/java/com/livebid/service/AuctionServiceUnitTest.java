@@ -1,21 +1,31 @@
 package com.livebid.service;
 
 import com.livebid.auction.model.Auction;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.event.BidPlacedEvent;
 import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.model.ProxyBid;
 import com.livebid.auction.repository.AuctionRepository;
 import com.livebid.auction.repository.AuctionSettlementRepository;
 import com.livebid.auction.repository.BidRepository;
+import com.livebid.auction.repository.ProxyBidRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
+import com.livebid.auction.service.AuctionSearchIndex;
 import com.livebid.auction.service.AuctionService;
 import com.livebid.user.model.User;
 import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.LockingWalletService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,8 +45,11 @@ public class AuctionServiceUnitTest {
     private AuctionSettlementRepository settlementRepository;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ProxyBidRepository proxyBidRepository;
+    @Mock
+    private AuctionSearchIndex searchIndex;
 
-    @InjectMocks
     private AuctionService auctionService;
 
     private User seller;
@@ -45,6 +58,11 @@ public class AuctionServiceUnitTest {
 
     @BeforeEach
     void setUp() {
+        auctionService = new AuctionService(auctionRepository, userRepository, bidRepository, eventPublisher,
+                settlementRepository, null, new LockingWalletService(userRepository, eventPublisher),
+                proxyBidRepository, mock(AuctionMetadataCache.class), searchIndex,
+                new SimpleMeterRegistry());
+
         seller = new User();
         seller.setId(UUID.randomUUID());
         seller.setEmail("seller@test.com");
@@ -125,4 +143,87 @@ public class AuctionServiceUnitTest {
         verify(settlementRepository).save(any());
         verify(auctionRepository, times(1)).save(auction); // Updated to CLOSED
     }
+
+    @Test
+    void testCloseAuction_NoBids_PublishesCloseWithoutWinner() {
+        when(auctionRepository.updateStatusToClosing(eq(auction.getId()), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(auctionRepository.findByIdWithLock(auction.getId())).thenReturn(Optional.of(auction));
+
+        assertTrue(auctionService.closeAuction(auction.getId()));
+
+        assertEquals(AuctionStatus.CLOSED, auction.getStatus());
+        ArgumentCaptor<AuctionClosedEvent> closed = ArgumentCaptor.forClass(AuctionClosedEvent.class);
+        verify(eventPublisher).publishEvent(closed.capture());
+        assertEquals(auction.getId(), closed.getValue().getAuctionId());
+        assertNull(closed.getValue().getWinnerId());
+        assertEquals(100, closed.getValue().getClosingPrice());
+        verifyNoInteractions(settlementRepository);
+    }
+
+    @Test
+    void testSearchAuctions_OneCharacterWordsFallBackToDatabase() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.canSearch("4 k")).thenReturn(false);
+
+        auctionService.searchAuctions("4 k", null);
+
+        verify(auctionRepository).searchByTitleOrDescription("4 k");
+        verify(searchIndex, never()).search(any(), any());
+    }
+
+    @Test
+    void testPlaceProxyBid_ResolvesWarInOneStep() {
+        // Another proxy (max 500) currently leads at 200 and holds its whole maximum
+        User rival = new User();
+        rival.setId(UUID.randomUUID());
+        rival.setAvailableBalance(0);
+        rival.setReservedBalance(500);
+
+        ProxyBid rivalProxy = new ProxyBid();
+        rivalProxy.setAuctionId(auction.getId());
+        rivalProxy.setBidderId(rival.getId());
+        rivalProxy.setMaxAmount(500);
+        rivalProxy.setActive(true);
+        rivalProxy.setPlacedAt(LocalDateTime.now().minusMinutes(5));
+
+        auction.setCurrentPrice(200);
+        auction.setCurrentLeaderId(rival.getId());
+
+        List<ProxyBid> proxies = new ArrayList<>(List.of(rivalProxy));
+        when(auctionRepository.findByIdWithLock(auction.getId())).thenReturn(Optional.of(auction));
+        when(proxyBidRepository.findByAuctionIdAndBidderId(auction.getId(), bidder.getId()))
+                .thenReturn(Optional.empty());
+        when(proxyBidRepository.save(any())).thenAnswer(inv -> {
+            ProxyBid saved = inv.getArgument(0);
+            if (!proxies.contains(saved)) {
+                proxies.add(saved);
+            }
+            return saved;
+        });
+        when(proxyBidRepository.findByAuctionIdAndActiveTrue(auction.getId()))
+                .thenAnswer(inv -> proxies.stream().filter(ProxyBid::isActive).toList());
+        when(userRepository.findByIdWithLock(bidder.getId())).thenReturn(Optional.of(bidder));
+        when(userRepository.findByIdWithLock(rival.getId())).thenReturn(Optional.of(rival));
+
+        auctionService.placeProxyBid(auction.getId(), bidder.getId(), 1000);
+
+        // Lowest winning price over the rival's 500 maximum: 500 + 100
+        assertEquals(600, auction.getCurrentPrice());
+        assertEquals(bidder.getId(), auction.getCurrentLeaderId());
+
+        // Maximum reserved once; the exhausted rival gets their maximum back
+        assertEquals(0, bidder.getAvailableBalance());
+        assertEquals(1000, bidder.getReservedBalance());
+        assertEquals(500, rival.getAvailableBalance());
+        assertEquals(0, rival.getReservedBalance());
+        assertFalse(rivalProxy.isActive());
+
+        verify(bidRepository, times(1)).save(any());
+        ArgumentCaptor<BidPlacedEvent> event = ArgumentCaptor.forClass(BidPlacedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(600, event.getValue().getNewPrice());
+        assertEquals(bidder.getId(), event.getValue().getNewLeaderId());
+        assertEquals(rival.getId(), event.getValue().getPreviousLeaderId());
+    }
 }
@@ -0,0 +1,73 @@
+package com.livebid.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.auction.broadcast.AuctionSnapshot;
+import com.livebid.auction.broadcast.AuctionStreams;
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.TopicReplay;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionStreamsUnitTest {
+
+    @Mock
+    private AuctionTopicReplay replay;
+
+    @Mock
+    private TopicPublisher topicPublisher;
+
+    private AuctionStreams streams;
+    private final UUID auctionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        streams = new AuctionStreams(replay, topicPublisher, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 60_000, 16, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.shutdown();
+    }
+
+    @Test
+    void testLastEventId_ResumesThroughReplay() {
+        when(replay.replay(auctionId, 41L)).thenReturn(new TopicReplay(auctionId, List.of(), null));
+
+        streams.open(auctionId, 41L);
+
+        verify(replay).replay(auctionId, 41L);
+        assertEquals(1, streams.connections());
+    }
+
+    @Test
+    void testAuctionClosed_EndsStreams() throws Exception {
+        when(replay.replay(auctionId, null)).thenReturn(new TopicReplay(auctionId, List.of(),
+                new AuctionSnapshot(auctionId, 0, AuctionStatus.LIVE, 1000, null, null)));
+        streams.open(auctionId, null);
+        streams.open(auctionId, null);
+        assertEquals(2, streams.connections());
+
+        streams.closed(new AuctionClosedEvent(auctionId, UUID.randomUUID(), 1500));
+
+        for (int i = 0; i < 100 && streams.connections() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, streams.connections());
+    }
+}
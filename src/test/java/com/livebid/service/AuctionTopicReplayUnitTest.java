@@ -0,0 +1,95 @@
+package com.livebid.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.auction.broadcast.AuctionSnapshot;
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.PriceTick;
+import com.livebid.auction.broadcast.TopicReplay;
+import com.livebid.auction.event.AuctionClosedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuctionTopicReplayUnitTest {
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Mock
+    private TopicPublisher topicPublisher;
+
+    private AuctionTopicReplay replay;
+    private final UUID auctionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        replay = new AuctionTopicReplay(auctionRepository, topicPublisher, new ObjectMapper(),
+                new SimpleMeterRegistry(), 4, 100);
+        Auction auction = new Auction();
+        auction.setId(auctionId);
+        auction.setStatus(AuctionStatus.LIVE);
+        auction.setCurrentPrice(1000);
+        auction.setEndTime(LocalDateTime.now().plusHours(1));
+        lenient().when(auctionRepository.findById(auctionId)).thenReturn(Optional.of(auction));
+    }
+
+    @Test
+    void testResumeWithinRing_ReturnsMissedTicks() {
+        for (long seq = 1; seq <= 6; seq++) {
+            replay.record(tick(seq));
+        }
+
+        TopicReplay resumed = replay.replay(auctionId, 4L);
+        assertNull(resumed.snapshot());
+        assertEquals(2, resumed.ticks().size());
+        assertEquals(5, resumed.ticks().get(0).seq());
+
+        assertTrue(replay.replay(auctionId, 6L).ticks().isEmpty());
+    }
+
+    @Test
+    void testGapBeyondRing_ReturnsSnapshotLoadedOnce() {
+        for (long seq = 1; seq <= 10; seq++) {
+            replay.record(tick(seq));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            TopicReplay resumed = replay.replay(auctionId, 2L);
+            assertNotNull(resumed.snapshot());
+            assertEquals(10, resumed.snapshot().seq());
+            assertEquals(2000, resumed.snapshot().currentPrice());
+        }
+        verify(auctionRepository, times(1)).findById(auctionId);
+    }
+
+    @Test
+    void testCloseWithoutBids_SnapshotIsClosed() {
+        assertEquals(AuctionStatus.LIVE, replay.snapshot(auctionId).status());
+
+        replay.handleAuctionClosed(new AuctionClosedEvent(auctionId, null, 1000));
+
+        AuctionSnapshot snapshot = replay.snapshot(auctionId);
+        assertEquals(AuctionStatus.CLOSED, snapshot.status());
+        assertEquals(1000, snapshot.currentPrice());
+        assertNull(snapshot.currentLeaderId());
+    }
+
+    private PriceTick tick(long seq) {
+        return new PriceTick(auctionId, seq, 1000 + seq * 100, UUID.randomUUID(), null, LocalDateTime.now());
+    }
+}
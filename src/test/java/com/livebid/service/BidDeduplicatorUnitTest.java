@@ -0,0 +1,154 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.BidDeduplicator;
+import com.livebid.auction.service.BidRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidDeduplicatorUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BidDeduplicator deduplicator;
+    private final UUID auctionId = UUID.randomUUID();
+    private final UUID bidderId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new BidDeduplicator(
+                new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class),
+                meterRegistry, 1000, Duration.ofMinutes(1), false);
+    }
+
+    @Test
+    void testSameKeyReplayedConcurrently_BidRunsOnce() throws Exception {
+        int clients = 16;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    deduplicator.placeOnce("retry-1", auctionId, bidderId, 500, () -> {
+                        executions.incrementAndGet();
+                        sleep(50); // Keep the first attempt in flight while the retries arrive
+                    });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(clients - 1, meterRegistry.get("livebid.bids.idempotent.replays").counter().count());
+    }
+
+    @Test
+    void testRejectedBidReplaysSameError() {
+        AtomicInteger executions = new AtomicInteger();
+        Runnable lowBid = () -> {
+            executions.incrementAndGet();
+            throw new IllegalArgumentException("Minimum bid is 600");
+        };
+
+        IllegalArgumentException first = assertThrows(IllegalArgumentException.class,
+                () -> deduplicator.placeOnce("retry-2", auctionId, bidderId, 550, lowBid));
+        IllegalArgumentException replay = assertThrows(IllegalArgumentException.class,
+                () -> deduplicator.placeOnce("retry-2", auctionId, bidderId, 550, lowBid));
+
+        assertEquals(first.getMessage(), replay.getMessage());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testUnexpectedFailureIsNotRemembered() {
+        AtomicInteger executions = new AtomicInteger();
+        Runnable flaky = () -> {
+            if (executions.incrementAndGet() == 1) {
+                throw new RuntimeException("connection reset");
+            }
+        };
+
+        assertThrows(RuntimeException.class, () -> deduplicator.placeOnce("retry-3", auctionId, bidderId, 700, flaky));
+        deduplicator.placeOnce("retry-3", auctionId, bidderId, 700, flaky);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testBidThatCouldNotBeRecordedIsRetried() {
+        AtomicInteger executions = new AtomicInteger();
+        Runnable staleBook = () -> {
+            if (executions.incrementAndGet() == 1) {
+                // The write batcher's answer for a bid queued against a book that is being reloaded
+                throw new IllegalStateException("Bid could not be recorded");
+            }
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> deduplicator.placeOnce("retry-5", auctionId, bidderId, 600, staleBook));
+        deduplicator.placeOnce("retry-5", auctionId, bidderId, 600, staleBook);
+        // Accepted by the reloaded book, and that is what later retries see
+        deduplicator.placeOnce("retry-5", auctionId, bidderId, 600, staleBook);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testBidRuleRejectionReplaysAsRejection() {
+        AtomicInteger executions = new AtomicInteger();
+        Runnable ended = () -> {
+            executions.incrementAndGet();
+            throw new BidRejectedException("Auction has ended");
+        };
+
+        assertThrows(BidRejectedException.class,
+                () -> deduplicator.placeOnce("retry-6", auctionId, bidderId, 600, ended));
+        BidRejectedException replay = assertThrows(BidRejectedException.class,
+                () -> deduplicator.placeOnce("retry-6", auctionId, bidderId, 600, ended));
+
+        assertEquals("Auction has ended", replay.getMessage());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeyReusedForDifferentAmountIsRejected() {
+        deduplicator.placeOnce("retry-4", auctionId, bidderId, 800, () -> {
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> deduplicator.placeOnce("retry-4", auctionId, bidderId, 900, () -> {
+                }));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
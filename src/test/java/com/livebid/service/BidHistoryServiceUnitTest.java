@@ -0,0 +1,79 @@
+package com.livebid.service;
+
+import com.livebid.auction.dto.BidHistoryResponse;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.event.BidPlacedEvent;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.repository.BidRepository;
+import com.livebid.auction.service.BidHistoryService;
+import com.livebid.infrastructure.exception.NotFoundException;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BidHistoryServiceUnitTest {
+
+    @Mock
+    private BidRepository bidRepository;
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    private BidHistoryService bidHistoryService;
+    private final UUID auctionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        bidHistoryService = new BidHistoryService(bidRepository, auctionRepository, 3, 200, 100);
+        bidHistoryService.handleAuctionStarted(
+                new AuctionStartedEvent(auctionId, 100, LocalDateTime.now().plusHours(1)));
+    }
+
+    @Test
+    void testGetBids_LiveFirstPageServedFromMemory() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            bidHistoryService.handleBidPlaced(new BidPlacedEvent(auctionId, 100 + i * 10, UUID.randomUUID(), null,
+                    TimeOrderedUuid.next(), now.plusSeconds(i), now.plusMinutes(10)));
+        }
+
+        BidHistoryResponse page = bidHistoryService.getBids(auctionId, "amount", "desc", 2, null);
+
+        assertEquals(2, page.bids().size());
+        assertEquals(150, page.bids().get(0).amount());
+        assertEquals(140, page.bids().get(1).amount());
+        assertNotNull(page.nextCursor());
+        verifyNoInteractions(bidRepository, auctionRepository);
+    }
+
+    @Test
+    void testGetBids_CursorFromOtherSortRejected() {
+        bidHistoryService.handleBidPlaced(new BidPlacedEvent(auctionId, 110, UUID.randomUUID(), null,
+                TimeOrderedUuid.next(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(10)));
+        bidHistoryService.handleBidPlaced(new BidPlacedEvent(auctionId, 120, UUID.randomUUID(), null,
+                TimeOrderedUuid.next(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(10)));
+        String cursor = bidHistoryService.getBids(auctionId, "timestamp", "desc", 1, null).nextCursor();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bidHistoryService.getBids(auctionId, "amount", "desc", 1, cursor));
+        assertEquals("Cursor does not match sort 'amount'", e.getMessage());
+    }
+
+    @Test
+    void testGetBids_UnknownAuctionNotFound() {
+        UUID unknown = UUID.randomUUID();
+        when(auctionRepository.findById(unknown)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bidHistoryService.getBids(unknown, "amount", "desc", 2, null));
+    }
+}
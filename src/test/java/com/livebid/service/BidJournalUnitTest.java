@@ -0,0 +1,71 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.BidJournal;
+import com.livebid.auction.model.AuctionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidJournalUnitTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReplay_RebuildsLiveBooksFromSegments() throws Exception {
+        UUID live = UUID.randomUUID();
+        UUID closed = UUID.randomUUID();
+        UUID bidder = UUID.randomUUID();
+        UUID bidId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        BidJournal journal = new BidJournal(dir, 1);
+        assertFalse(journal.hasHistory());
+        journal.appendStarted(live, 1000, null, null, now.plusHours(1));
+        journal.appendStarted(closed, 500, null, null, now.plusMinutes(5));
+        journal.appendBid(bidId, live, bidder, 1100, now);
+        journal.appendBid(UUID.randomUUID(), closed, bidder, 600, now);
+        journal.appendStatus(closed, AuctionStatus.CLOSING);
+        journal.close();
+
+        BidJournal recovered = new BidJournal(dir, 1);
+        assertTrue(recovered.hasHistory());
+        List<BidJournal.JournalBook> books = recovered.liveBooks();
+        assertEquals(1, books.size());
+        BidJournal.JournalBook book = books.get(0);
+        assertEquals(live, book.auctionId());
+        assertEquals(1100, book.price());
+        assertEquals(bidder, book.leaderId());
+        assertEquals(bidId, book.leaderBidId());
+    }
+
+    @Test
+    void testSnapshot_CompactsOlderSegments() throws Exception {
+        UUID auctionId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        BidJournal journal = new BidJournal(dir, 1);
+        journal.appendStarted(auctionId, 1000, null, null, now.plusHours(1));
+        journal.appendBid(UUID.randomUUID(), auctionId, first, 1100, now);
+        journal.snapshot();
+        journal.appendBid(UUID.randomUUID(), auctionId, second, 1200, now);
+        journal.close();
+
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "one snapshot and the segment written after it");
+        }
+
+        BidJournal.JournalBook book = new BidJournal(dir, 1).liveBooks().get(0);
+        assertEquals(1200, book.price());
+        assertEquals(second, book.leaderId());
+    }
+}
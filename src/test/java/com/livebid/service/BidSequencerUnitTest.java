@@ -0,0 +1,168 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.BidJournal;
+import com.livebid.auction.engine.BidSequencer;
+import com.livebid.auction.engine.BidWriteBatcher;
+import com.livebid.auction.engine.RedisBidGate;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.user.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BidSequencerUnitTest {
+
+    @Mock
+    private AuctionRepository auctionRepository;
+    @Mock
+    private WalletService walletService;
+    @Mock
+    private BidWriteBatcher writeBatcher;
+    @Mock
+    private RedisBidGate bidGate;
+
+    private BidSequencer sequencer;
+    private UUID auctionId;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new BidSequencer(auctionRepository, walletService, writeBatcher, bidGate,
+                new StaticListableBeanFactory().getBeanProvider(BidJournal.class), 2, true);
+        auctionId = UUID.randomUUID();
+        sequencer.handleAuctionStarted(new AuctionStartedEvent(auctionId, 1000, LocalDateTime.now().plusHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencer.shutdown();
+    }
+
+    @Test
+    void testPlaceBid_AcceptedInMemoryAndHandedToBatcher() {
+        UUID bidder = UUID.randomUUID();
+        when(writeBatcher.submit(any(), eq(auctionId), eq(bidder), eq(1100L), any(), isNull(), eq(1000L), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        sequencer.placeBid(auctionId, bidder, 1100);
+        sequencer.seal(auctionId);
+
+        verify(walletService).reserve(bidder, 1100);
+        verify(writeBatcher).submit(any(), eq(auctionId), eq(bidder), eq(1100L), any(), isNull(), eq(1000L), any());
+        verifyNoInteractions(auctionRepository);
+    }
+
+    @Test
+    void testPlaceBid_StaleBidRejectedWithoutTouchingFunds() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(writeBatcher.submit(any(), eq(auctionId), eq(first), eq(1100L), any(), isNull(), eq(1000L), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        sequencer.placeBid(auctionId, first, 1100);
+
+        // 1150 is below 1100 + max(5%, 100)
+        assertThrows(IllegalArgumentException.class, () -> sequencer.placeBid(auctionId, second, 1150));
+        verify(walletService, never()).reserve(eq(second), anyLong());
+    }
+
+    @Test
+    void testPlaceBid_ReservationReleasedWhenBidCannotBeQueued() {
+        UUID bidder = UUID.randomUUID();
+        when(writeBatcher.submit(any(), eq(auctionId), eq(bidder), eq(1100L), any(), isNull(), eq(1000L), any()))
+                .thenThrow(new IllegalStateException("Interrupted while queueing bid"));
+
+        assertThrows(IllegalStateException.class, () -> sequencer.placeBid(auctionId, bidder, 1100));
+
+        verify(walletService).reserve(bidder, 1100);
+        verify(walletService).release(bidder, 1100);
+    }
+
+    @Test
+    void testRejectedWrite_BookAndGateReloadedFromDatabase() throws InterruptedException {
+        ArgumentCaptor<Consumer<UUID>> listener = ArgumentCaptor.captor();
+        sequencer.listenForRejectedWrites();
+        verify(writeBatcher).onRejected(listener.capture());
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(writeBatcher.submit(any(), eq(auctionId), any(), eq(1100L), any(), any(), anyLong(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        sequencer.placeBid(auctionId, first, 1100);
+
+        // The batcher could not write the bid, so the table still has the opening price
+        Auction auction = new Auction();
+        auction.setId(auctionId);
+        auction.setStatus(AuctionStatus.LIVE);
+        auction.setCurrentPrice(1000);
+        auction.setEndTime(LocalDateTime.now().plusHours(1));
+        when(auctionRepository.findById(auctionId)).thenReturn(Optional.of(auction));
+        CountDownLatch reset = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            reset.countDown();
+            return null;
+        }).when(bidGate).reset(auctionId, 1000);
+        listener.getValue().accept(auctionId);
+        assertTrue(reset.await(5, TimeUnit.SECONDS));
+
+        // 1100 would be too low against the lost bid, but is fine against the reloaded book
+        sequencer.placeBid(auctionId, second, 1100);
+        verify(writeBatcher).submit(any(), eq(auctionId), eq(second), eq(1100L), any(), isNull(), eq(1000L), any());
+    }
+
+    @Test
+    void testRecoverFromJournal_BookBehindDatabaseLoadsFromDatabase() throws InterruptedException {
+        BidJournal journal = mock(BidJournal.class);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("bidJournal", journal);
+        BidSequencer recovering = new BidSequencer(auctionRepository, walletService, writeBatcher, bidGate,
+                beans.getBeanProvider(BidJournal.class), 2, true);
+        LocalDateTime endTime = LocalDateTime.now().plusHours(1);
+        long endTimeMillis = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // The journal missed the batch that took the auction to 1500
+        when(journal.hasHistory()).thenReturn(true);
+        when(journal.liveBooks()).thenReturn(List.of(new BidJournal.JournalBook(auctionId, 1000, null, null,
+                endTimeMillis)));
+        when(auctionRepository.findLivePrices()).thenReturn(List.<Object[]>of(new Object[] { auctionId, 1500L }));
+        Auction auction = new Auction();
+        auction.setId(auctionId);
+        auction.setStatus(AuctionStatus.LIVE);
+        auction.setCurrentPrice(1500);
+        auction.setEndTime(endTime);
+        when(auctionRepository.findById(auctionId)).thenReturn(Optional.of(auction));
+
+        try {
+            recovering.recover();
+            // Enough against the journal's 1000, too low against the committed 1500
+            assertThrows(IllegalArgumentException.class,
+                    () -> recovering.placeBid(auctionId, UUID.randomUUID(), 1200));
+            verifyNoInteractions(writeBatcher);
+        } finally {
+            recovering.shutdown();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.BidSequencer;
+import com.livebid.auction.engine.BidWriteBatcher;
+import com.livebid.auction.engine.RedisBidGate;
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.LockingWalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A bid batch the database refuses: the sequencer, the wallet and the tables
+ * must still agree afterwards, and the auction must keep taking bids. Runs the
+ * sequenced engine against in-memory H2 in PostgreSQL mode with the locking
+ * wallet.
+ */
+@SpringBootTest(classes = BidWriteBatcherFailureTest.Config.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = { "spring.datasource.url=jdbc:h2:mem:bidwrites;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+                "livebid.bid-engine.mode=sequenced", "livebid.bid-engine.shards=1",
+                "livebid.bid-gate.enabled=false" })
+public class BidWriteBatcherFailureTest {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    BidSequencer sequencer;
+
+    private final UUID seller = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("ALTER TABLE bids DROP CONSTRAINT IF EXISTS no_1300");
+        jdbc.update("DELETE FROM bids");
+        jdbc.update("DELETE FROM auctions");
+        jdbc.update("DELETE FROM users");
+    }
+
+    @Test
+    void testRejectedBatch_WalletBookAndTablesAgree() {
+        UUID auctionId = seed();
+        sequencer.placeBid(auctionId, first, 1100);
+
+        // Any bid of 1300 now fails its batch insert, which no retry can fix
+        jdbc.execute("ALTER TABLE bids ADD CONSTRAINT no_1300 CHECK (amount <> 1300)");
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+                () -> sequencer.placeBid(auctionId, second, 1300));
+        assertEquals("Bid could not be recorded", rejected.getMessage());
+
+        assertLeader(auctionId, first, 1100);
+        assertBalances(first, 8900, 1100);
+        assertBalances(second, 10000, 0);
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM bids", Integer.class));
+
+        // The book was reloaded at 1100, so a lower retry than the rejected bid wins
+        sequencer.placeBid(auctionId, second, 1200);
+
+        assertLeader(auctionId, second, 1200);
+        assertBalances(first, 10000, 0);
+        assertBalances(second, 8800, 1200);
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM bids", Integer.class));
+    }
+
+    @Test
+    void testBookBehindTable_BidRejectedAndBookReloaded() {
+        UUID auctionId = seed();
+        sequencer.placeBid(auctionId, first, 1100);
+
+        // A write the book never saw, as after recovering from a journal that trails the table
+        jdbc.update("UPDATE auctions SET current_price = 1500 WHERE id = ?", auctionId);
+        assertThrows(IllegalStateException.class, () -> sequencer.placeBid(auctionId, second, 1200));
+
+        assertLeader(auctionId, first, 1500);
+        assertBalances(second, 10000, 0);
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM bids", Integer.class));
+
+        // Reloaded at 1500, so only a bid above it is taken
+        assertThrows(IllegalArgumentException.class, () -> sequencer.placeBid(auctionId, second, 1200));
+        sequencer.placeBid(auctionId, second, 1600);
+        assertLeader(auctionId, second, 1600);
+    }
+
+    private UUID seed() {
+        for (UUID user : new UUID[] { seller, first, second }) {
+            jdbc.update("INSERT INTO users (id, email, available_balance, reserved_balance) VALUES (?, ?, ?, 0)",
+                    user, user + "@bids.test", 10000);
+        }
+        UUID auctionId = TimeOrderedUuid.next();
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("INSERT INTO auctions (id, seller_id, title, start_price, current_price, status, start_time, "
+                + "end_time, version) VALUES (?, ?, 'Lot', 1000, 1000, 'LIVE', ?, ?, 0)", auctionId, seller,
+                Timestamp.valueOf(now.minusMinutes(1)), Timestamp.valueOf(now.plusMinutes(10)));
+        return auctionId;
+    }
+
+    private void assertLeader(UUID auctionId, UUID leader, long price) {
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT current_leader_id, current_price FROM auctions WHERE id = ?", auctionId);
+        assertEquals(leader, row.get("current_leader_id"));
+        assertEquals(price, ((Number) row.get("current_price")).longValue());
+    }
+
+    private void assertBalances(UUID user, long available, long reserved) {
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT available_balance, reserved_balance FROM users WHERE id = ?", user);
+        assertEquals(available, ((Number) row.get("available_balance")).longValue());
+        assertEquals(reserved, ((Number) row.get("reserved_balance")).longValue());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class,
+            SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class })
+    @EntityScan(basePackageClasses = { Auction.class, User.class })
+    @EnableJpaRepositories(basePackageClasses = { AuctionRepository.class, UserRepository.class })
+    @Import({ BidSequencer.class, BidWriteBatcher.class, RedisBidGate.class, LockingWalletService.class })
+    static class Config {
+
+        @Bean
+        StringRedisTemplate redisTemplate() {
+            return mock(StringRedisTemplate.class);
+        }
+    }
+}
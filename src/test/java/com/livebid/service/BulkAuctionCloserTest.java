@@ -0,0 +1,174 @@
+package com.livebid.service;
+
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
+import com.livebid.auction.service.AuctionSearchIndex;
+import com.livebid.auction.service.AuctionService;
+import com.livebid.auction.service.BulkAuctionCloser;
+import com.livebid.image.service.ImageService;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.LockingWalletService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link BulkAuctionCloser} against in-memory H2 in PostgreSQL mode with the
+ * locking wallet: one chunk settling winners, releasing proxy holds and
+ * crediting a seller once for several sales, and the one-by-one fallback when
+ * the chunk fails.
+ */
+@SpringBootTest(classes = BulkAuctionCloserTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = { "spring.datasource.url=jdbc:h2:mem:bulkclose;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+                "livebid.closing.mode=bulk" })
+public class BulkAuctionCloserTest {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    BulkAuctionCloser bulkCloser;
+
+    private final UUID seller = UUID.randomUUID();
+    private final UUID winner = UUID.randomUUID();
+    private final UUID proxyLeader = UUID.randomUUID();
+    private final UUID proxyLoser = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM auction_settlements");
+        jdbc.update("DELETE FROM proxy_bids");
+        jdbc.update("DELETE FROM auctions");
+        jdbc.update("DELETE FROM users");
+    }
+
+    @Test
+    void testClose_SettlesWinnersReleasesProxiesAndCreditsSellerOnce() {
+        user(seller, 0, 0);
+        user(winner, 0, 5_000);
+        user(proxyLeader, 0, 4_000);
+        user(proxyLoser, 0, 2_000);
+        UUID first = auction(winner, 2_000, true);
+        UUID second = auction(winner, 3_000, true);
+        UUID proxied = auction(proxyLeader, 2_500, true);
+        proxy(proxied, proxyLeader, 4_000);
+        proxy(proxied, proxyLoser, 2_000);
+        UUID unsold = auction(null, 1_000, true);
+        UUID running = auction(winner, 1_000, false);
+
+        List<UUID> closed = bulkCloser.close(List.of(first, second, proxied, unsold, running));
+
+        assertEquals(List.of(first, second, proxied, unsold), closed);
+        for (UUID id : closed) {
+            assertEquals("CLOSED", status(id));
+        }
+        assertEquals("LIVE", status(running));
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM auction_settlements", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM proxy_bids WHERE active = TRUE", Integer.class));
+
+        assertBalances(seller, 7_500, 0);
+        assertBalances(winner, 0, 0);
+        // Held up to 4,000, paid 2,500
+        assertBalances(proxyLeader, 1_500, 0);
+        assertBalances(proxyLoser, 2_000, 0);
+    }
+
+    @Test
+    void testClose_FallsBackToOneByOneWhenChunkFails() {
+        UUID broke = UUID.randomUUID();
+        user(seller, 0, 0);
+        user(winner, 0, 2_000);
+        // Nothing reserved, so capturing their win fails the chunk
+        user(broke, 0, 0);
+        UUID paid = auction(winner, 2_000, true);
+        UUID unpaid = auction(broke, 1_000, true);
+
+        List<UUID> closed = bulkCloser.close(List.of(paid, unpaid));
+
+        assertEquals(List.of(paid), closed);
+        assertEquals("CLOSED", status(paid));
+        assertEquals("LIVE", status(unpaid));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM auction_settlements", Integer.class));
+        assertBalances(seller, 2_000, 0);
+        assertBalances(winner, 0, 0);
+    }
+
+    private void user(UUID id, long available, long reserved) {
+        jdbc.update("INSERT INTO users (id, email, available_balance, reserved_balance) VALUES (?, ?, ?, ?)", id,
+                id + "@close.test", available, reserved);
+    }
+
+    private UUID auction(UUID leader, long price, boolean expired) {
+        UUID id = TimeOrderedUuid.next();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp end = Timestamp.valueOf(expired ? now.minusSeconds(1) : now.plusMinutes(10));
+        jdbc.update("INSERT INTO auctions (id, seller_id, title, start_price, current_price, status, start_time, "
+                + "end_time, current_leader_id, current_leader_bid_id, version) "
+                + "VALUES (?, ?, 'Lot', 1000, ?, 'LIVE', ?, ?, ?, ?, 0)", id, seller, price,
+                Timestamp.valueOf(now.minusMinutes(10)), end, leader, leader != null ? TimeOrderedUuid.next() : null);
+        return id;
+    }
+
+    private void proxy(UUID auctionId, UUID bidderId, long maxAmount) {
+        jdbc.update("INSERT INTO proxy_bids (id, auction_id, bidder_id, max_amount, active, placed_at) "
+                + "VALUES (?, ?, ?, ?, TRUE, ?)", UUID.randomUUID(), auctionId, bidderId, maxAmount,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private String status(UUID auctionId) {
+        return jdbc.queryForObject("SELECT status FROM auctions WHERE id = ?", String.class, auctionId);
+    }
+
+    private void assertBalances(UUID user, long available, long reserved) {
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT available_balance, reserved_balance FROM users WHERE id = ?", user);
+        assertEquals(available, ((Number) row.get("available_balance")).longValue());
+        assertEquals(reserved, ((Number) row.get("reserved_balance")).longValue());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class,
+            SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class })
+    @EntityScan(basePackageClasses = { Auction.class, User.class })
+    @EnableJpaRepositories(basePackageClasses = { AuctionRepository.class, UserRepository.class })
+    @Import({ AuctionService.class, AuctionMetadataCache.class, AuctionSearchIndex.class, BulkAuctionCloser.class,
+            LockingWalletService.class })
+    static class Config {
+
+        @Bean
+        ImageService imageService() {
+            return mock(ImageService.class);
+        }
+    }
+}
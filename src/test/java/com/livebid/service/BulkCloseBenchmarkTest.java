@@ -0,0 +1,157 @@
+package com.livebid.service;
+
+import com.livebid.auction.model.Auction;
+import com.livebid.auction.repository.AuctionRepository;
+import com.livebid.auction.service.AuctionMetadataCache;
+import com.livebid.auction.service.AuctionSearchIndex;
+import com.livebid.auction.service.AuctionService;
+import com.livebid.auction.service.BulkAuctionCloser;
+import com.livebid.image.service.ImageService;
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.LockingWalletService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Closing {@value #AUCTIONS} auctions that all expired at once, half of them
+ * with a winner: one {@link AuctionService#closeAuction} transaction per
+ * auction versus {@link BulkAuctionCloser}'s chunked set-based close. Both run
+ * on one thread against in-memory H2 in PostgreSQL mode, with the locking
+ * wallet. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = BulkCloseBenchmarkTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = { "spring.datasource.url=jdbc:h2:mem:closing;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+                "livebid.closing.mode=bulk" })
+public class BulkCloseBenchmarkTest {
+
+    private static final int AUCTIONS = 10_000;
+    private static final int SELLERS = 500;
+    private static final int BIDDERS = 2_000;
+    private static final long PRICE = 2_500;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    AuctionService auctionService;
+
+    @Autowired
+    BulkAuctionCloser bulkCloser;
+
+    @Test
+    void compareCloseThroughput() {
+        // Warm both paths up before timing them
+        List<UUID> warmup = seed(500);
+        warmup.subList(0, 250).forEach(auctionService::closeAuction);
+        bulkCloser.close(warmup.subList(250, 500));
+
+        List<UUID> single = seed(AUCTIONS);
+        long start = System.nanoTime();
+        single.forEach(auctionService::closeAuction);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+        verifyClosed(single);
+
+        List<UUID> bulk = seed(AUCTIONS);
+        start = System.nanoTime();
+        int closed = bulkCloser.close(bulk).size();
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+        verifyClosed(bulk);
+        assertEquals(AUCTIONS, closed);
+
+        System.out.printf("%-7s %10s %14s%n", "close", "seconds", "auctions/s");
+        System.out.printf("%-7s %10.2f %14.0f%n", "single", singleSeconds, AUCTIONS / singleSeconds);
+        System.out.printf("%-7s %10.2f %14.0f%n", "bulk", bulkSeconds, AUCTIONS / bulkSeconds);
+    }
+
+    // Expired LIVE auctions over fresh users; every other auction has a leader holding PRICE in reserve
+    private List<UUID> seed(int auctions) {
+        jdbc.update("DELETE FROM auction_settlements");
+        jdbc.update("DELETE FROM auctions");
+        jdbc.update("DELETE FROM users");
+
+        List<UUID> sellers = users(SELLERS, 0);
+        List<UUID> bidders = users(BIDDERS, PRICE * (auctions / 2 / BIDDERS + 1));
+        Timestamp ended = Timestamp.valueOf(LocalDateTime.now().minusSeconds(1));
+        List<UUID> ids = new ArrayList<>(auctions);
+        List<Object[]> rows = new ArrayList<>(auctions);
+        for (int i = 0; i < auctions; i++) {
+            UUID id = TimeOrderedUuid.next();
+            UUID leader = i % 2 == 0 ? bidders.get(i / 2 % BIDDERS) : null;
+            ids.add(id);
+            rows.add(new Object[] { id, sellers.get(i % SELLERS), "Lot " + i, PRICE, PRICE, "LIVE", ended, ended,
+                    leader, leader != null ? TimeOrderedUuid.next() : null });
+        }
+        jdbc.batchUpdate("INSERT INTO auctions (id, seller_id, title, start_price, current_price, status, "
+                + "start_time, end_time, current_leader_id, current_leader_bid_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        return ids;
+    }
+
+    private List<UUID> users(int count, long reserved) {
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            rows.add(new Object[] { id, id + "@bench.test", 0, reserved });
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, email, available_balance, reserved_balance) VALUES (?, ?, ?, ?)",
+                rows);
+        return ids;
+    }
+
+    private void verifyClosed(List<UUID> ids) {
+        assertEquals(ids.size(), jdbc.queryForObject("SELECT COUNT(*) FROM auctions WHERE status = 'CLOSED'",
+                Integer.class));
+        assertEquals(ids.size() / 2, jdbc.queryForObject("SELECT COUNT(*) FROM auction_settlements", Integer.class));
+        assertEquals(PRICE * (ids.size() / 2), jdbc.queryForObject("SELECT SUM(available_balance) FROM users",
+                Long.class));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class,
+            SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class })
+    @EntityScan(basePackageClasses = { Auction.class, User.class })
+    @EnableJpaRepositories(basePackageClasses = { AuctionRepository.class, UserRepository.class })
+    @Import({ AuctionService.class, AuctionMetadataCache.class, AuctionSearchIndex.class, BulkAuctionCloser.class,
+            LockingWalletService.class })
+    static class Config {
+
+        @Bean
+        ImageService imageService() {
+            return mock(ImageService.class);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.livebid.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.livebid.auction.broadcast.CompactPriceCodec;
+import com.livebid.auction.broadcast.PriceTick;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes per frame and encode cost of the JSON price tick versus
+ * {@link CompactPriceCodec}, over a hot auction with a small pool of competing
+ * bidders. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class CompactPriceCodecBenchmarkTest {
+
+    private static final int TICKS = 200_000;
+    private static final int BIDDERS = 20;
+
+    @Test
+    void compareFrameSizeAndEncodeCost() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<PriceTick> ticks = ticks();
+
+        // Warm-up passes, then measured passes with a fresh codec so stream state starts empty
+        for (int i = 0; i < 3; i++) {
+            run("json", ticks, tick -> write(json, tick));
+            run("compact", ticks, new CompactPriceCodec()::encode);
+        }
+        Result jsonResult = run("json", ticks, tick -> write(json, tick));
+        Result compactResult = run("compact", ticks, new CompactPriceCodec()::encode);
+
+        System.out.printf("%-8s %12s %10s%n", "format", "bytes/tick", "ns/tick");
+        for (Result result : new Result[] { jsonResult, compactResult }) {
+            System.out.printf("%-8s %12.1f %10.0f%n", result.name(), result.bytesPerTick(), result.nanosPerTick());
+        }
+        assertTrue(compactResult.bytesPerTick() < jsonResult.bytesPerTick());
+    }
+
+    private List<PriceTick> ticks() {
+        UUID auctionId = UUID.randomUUID();
+        List<UUID> bidders = new ArrayList<>();
+        for (int i = 0; i < BIDDERS; i++) {
+            bidders.add(UUID.randomUUID());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime time = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long price = 10_000;
+        List<PriceTick> ticks = new ArrayList<>(TICKS);
+        UUID previous = null;
+        for (int seq = 1; seq <= TICKS; seq++) {
+            UUID leader = bidders.get(random.nextInt(BIDDERS));
+            price += random.nextLong(1, 500);
+            time = time.plus(random.nextLong(1, 120), ChronoUnit.MILLIS);
+            ticks.add(new PriceTick(auctionId, seq, price, leader, previous, time));
+            previous = leader;
+        }
+        return ticks;
+    }
+
+    private Result run(String name, List<PriceTick> ticks, Function<PriceTick, byte[]> encoder) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (PriceTick tick : ticks) {
+            bytes += encoder.apply(tick).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(name, (double) bytes / ticks.size(), (double) elapsed / ticks.size());
+    }
+
+    private static byte[] write(ObjectMapper json, PriceTick tick) {
+        try {
+            return json.writeValueAsBytes(tick);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(String name, double bytesPerTick, double nanosPerTick) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.livebid.service;
+
+import com.livebid.auction.broadcast.CompactPriceCodec;
+import com.livebid.auction.broadcast.PriceTick;
+import com.livebid.auction.event.AuctionClosedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactPriceCodecUnitTest {
+
+    private final UUID auctionId = UUID.randomUUID();
+
+    @Test
+    void testRoundTrip_InternsLeadersAndSendsDeltas() {
+        CompactPriceCodec codec = new CompactPriceCodec();
+        CompactPriceCodec.Decoder decoder = new CompactPriceCodec.Decoder();
+        List<UUID> bidders = List.of(UUID.randomUUID(), UUID.randomUUID());
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        List<byte[]> frames = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            PriceTick tick = new PriceTick(auctionId, i, 1000 + i * 50L, bidders.get(i % 2), null,
+                    start.plus(i * 7L, ChronoUnit.MILLIS));
+            byte[] frame = codec.encode(tick);
+            frames.add(frame);
+
+            PriceTick decoded = decoder.decode(auctionId, frame);
+            assertEquals(tick.seq(), decoded.seq());
+            assertEquals(tick.newPrice(), decoded.newPrice());
+            assertEquals(tick.newLeaderId(), decoded.newLeaderId());
+            assertEquals(tick.timestamp(), decoded.timestamp());
+        }
+
+        // Both bidders are interned by the second frame, so the rest are small deltas
+        assertTrue(frames.get(0).length > 16);
+        assertTrue(frames.get(9).length < 8, "delta frame was " + frames.get(9).length + " bytes");
+    }
+
+    @Test
+    void testLateSubscriber_SyncsOnNextKeyFrame() {
+        CompactPriceCodec codec = new CompactPriceCodec();
+        UUID bidder = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        codec.encode(new PriceTick(auctionId, 1, 1000, bidder, null, now));
+
+        CompactPriceCodec.Decoder late = new CompactPriceCodec.Decoder();
+        assertNull(late.decode(auctionId, codec.encode(new PriceTick(auctionId, 2, 1100, bidder, null, now))));
+
+        PriceTick synced = null;
+        for (int seq = 3; synced == null && seq < 100; seq++) {
+            synced = late.decode(auctionId, codec.encode(new PriceTick(auctionId, seq, 1000 + seq * 100L, bidder, null, now)));
+        }
+        assertNotNull(synced);
+        assertEquals(bidder, synced.newLeaderId());
+        assertEquals(1000 + synced.seq() * 100, synced.newPrice());
+    }
+
+    @Test
+    void testLateSubscriber_DecodesEveryInternedBidderAfterKeyFrame() {
+        CompactPriceCodec codec = new CompactPriceCodec();
+        List<UUID> bidders = List.of(UUID.randomUUID(), UUID.randomUUID());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        CompactPriceCodec.Decoder early = new CompactPriceCodec.Decoder();
+        CompactPriceCodec.Decoder late = new CompactPriceCodec.Decoder();
+
+        int lateDecoded = 0;
+        for (int seq = 1; seq <= 100; seq++) {
+            PriceTick tick = new PriceTick(auctionId, seq, 1000 + seq * 10L, bidders.get(seq % 2), null, now);
+            byte[] frame = codec.encode(tick);
+            assertEquals(tick.newLeaderId(), early.decode(auctionId, frame).newLeaderId());
+            // Joins after both bidders were interned and alternates between them from its first key frame on
+            if (seq > 3) {
+                PriceTick decoded = late.decode(auctionId, frame);
+                if (decoded != null) {
+                    assertEquals(tick.newLeaderId(), decoded.newLeaderId(), "seq " + seq);
+                    assertEquals(tick.newPrice(), decoded.newPrice());
+                    lateDecoded++;
+                }
+            }
+        }
+        assertTrue(lateDecoded > 50, "late subscriber decoded " + lateDecoded + " frames");
+    }
+
+    @Test
+    void testCloseFrame_DecodesWithoutKeyFrame() {
+        UUID winner = UUID.randomUUID();
+        CompactPriceCodec.Decoder late = new CompactPriceCodec.Decoder();
+
+        byte[] frame = CompactPriceCodec.encodeClose(new AuctionClosedEvent(auctionId, winner, 4200));
+        assertNull(late.decode(auctionId, frame));
+        AuctionClosedEvent closed = late.decodeClose(auctionId, frame);
+        assertEquals(winner, closed.getWinnerId());
+        assertEquals(4200, closed.getClosingPrice());
+
+        AuctionClosedEvent unsold = late.decodeClose(auctionId,
+                CompactPriceCodec.encodeClose(new AuctionClosedEvent(auctionId, null, 1000)));
+        assertNull(unsold.getWinnerId());
+        assertEquals(1000, unsold.getClosingPrice());
+    }
+}
@@ -0,0 +1,114 @@
+package com.livebid.service;
+
+import com.livebid.notification.model.Notification;
+import com.livebid.notification.repository.NotificationRepository;
+import com.livebid.notification.service.NotificationService;
+import com.livebid.notification.service.NotificationWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationServiceUnitTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationWriter notificationWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService(notificationRepository, notificationWriter, eventPublisher,
+                true, 1000, 100, 1000, 300);
+    }
+
+    @Test
+    void testRepeatedOutbid_UpdatesUnreadNotificationInPlaceUntilRead() {
+        UUID userId = UUID.randomUUID();
+        UUID auctionId = UUID.randomUUID();
+
+        Notification first = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.10", auctionId);
+        Notification second = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.20", auctionId);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getCreatedAt(), second.getCreatedAt());
+        verify(notificationWriter).submit(first);
+        verify(notificationWriter).update(second);
+        verifyNoInteractions(notificationRepository);
+
+        when(notificationRepository.markRead(userId, first.getId())).thenReturn(1);
+        notificationService.markAsRead(userId, first.getId());
+        Notification third = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.30", auctionId);
+
+        assertNotEquals(first.getId(), third.getId());
+        verify(notificationWriter).submit(third);
+        verify(eventPublisher, times(3)).publishEvent(any(NotificationService.NotificationCreatedEvent.class));
+    }
+
+    @Test
+    void testOutbidAfterReadElsewhere_StartsNewUnreadRow() {
+        ArgumentCaptor<Consumer<Notification>> readBeforeUpdate = ArgumentCaptor.captor();
+        notificationService.listenForReadRows();
+        verify(notificationWriter).onReadBeforeUpdate(readBeforeUpdate.capture());
+        UUID userId = UUID.randomUUID();
+        UUID auctionId = UUID.randomUUID();
+        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenReturn(0L);
+        assertEquals(0, notificationService.getUnreadCount(userId));
+
+        Notification first = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.10", auctionId);
+        assertEquals(1, notificationService.getUnreadCount(userId));
+        // Read on another node, so this node still collapses into it
+        Notification second = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.20", auctionId);
+        assertEquals(first.getId(), second.getId());
+
+        // The writer finds the row read and hands the outbid back
+        readBeforeUpdate.getValue().accept(second);
+
+        ArgumentCaptor<Notification> reopened = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationWriter, times(2)).submit(reopened.capture());
+        Notification third = reopened.getAllValues().get(1);
+        assertNotEquals(first.getId(), third.getId());
+        assertEquals("Outbid at $1.20", third.getMessage());
+        assertEquals(2, notificationService.getUnreadCount(userId));
+
+        // Later outbids collapse into the new row
+        Notification fourth = notificationService.createNotification(userId, "OUTBID", "Outbid at $1.30", auctionId);
+        assertEquals(third.getId(), fourth.getId());
+    }
+
+    @Test
+    void testUnreadCount_CountedOnceThenMaintainedInMemory() {
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenReturn(3L);
+
+        assertEquals(3, notificationService.getUnreadCount(userId));
+        Notification won = notificationService.createNotification(userId, "AUCTION_WON", "You won", UUID.randomUUID());
+        assertEquals(4, notificationService.getUnreadCount(userId));
+
+        when(notificationRepository.markRead(userId, won.getId())).thenReturn(1);
+        notificationService.markAsRead(userId, won.getId());
+        assertEquals(3, notificationService.getUnreadCount(userId));
+
+        notificationService.markAllAsRead(userId);
+        assertEquals(0, notificationService.getUnreadCount(userId));
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse(userId);
+        verify(notificationRepository).markAllRead(userId);
+    }
+}
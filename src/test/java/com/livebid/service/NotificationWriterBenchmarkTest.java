@@ -0,0 +1,112 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.notification.model.Notification;
+import com.livebid.notification.service.NotificationWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Notification insert throughput and the time each caller spends creating one:
+ * one insert per transaction (the previous behaviour) versus
+ * {@link NotificationWriter}'s batched write-behind, on file-backed H2 in
+ * PostgreSQL mode. Caller time is what a bid pays when its side effects run
+ * inline. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class NotificationWriterBenchmarkTest {
+
+    private static final int NOTIFICATIONS = 100_000;
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(id, user_id, type, message, auction_id, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareInsertThroughputAndCallerLatency() throws Exception {
+        Result sync = run("per-row", (jdbc, tx) -> n -> tx.executeWithoutResult(status -> jdbc.update(INSERT_SQL,
+                n.getId(), n.getUserId(), n.getType(), n.getMessage(), n.getAuctionId(), n.isRead(),
+                Timestamp.valueOf(n.getCreatedAt()))), null);
+        Result batched = run("batched", null,
+                (jdbc, tx) -> {
+                    NotificationWriter writer = new NotificationWriter(jdbc, tx, new SimpleMeterRegistry(), 20, 500,
+                            10_000);
+                    writer.start();
+                    return writer;
+                });
+
+        System.out.printf("%-8s %12s %14s %14s%n", "writes", "rows/s", "caller p50 us", "caller p99 us");
+        for (Result result : new Result[] { sync, batched }) {
+            System.out.printf("%-8s %12.0f %14.1f %14.1f%n", result.name(), result.rowsPerSecond(),
+                    result.p50Micros(), result.p99Micros());
+        }
+        assertEquals(NOTIFICATIONS, sync.rows());
+        assertEquals(NOTIFICATIONS, batched.rows());
+    }
+
+    private Result run(String name, Direct direct, Batched batched) throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:file:" + dir.resolve(name) + ";MODE=PostgreSQL");
+            dataSource.setUsername("sa");
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            jdbc.execute("CREATE TABLE notifications (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                    + "type VARCHAR(255) NOT NULL, message VARCHAR(255) NOT NULL, auction_id UUID, "
+                    + "is_read BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL)");
+
+            NotificationWriter writer = batched != null ? batched.create(jdbc, tx) : null;
+            Consumer<Notification> create = writer != null ? writer::submit : direct.create(jdbc, tx);
+
+            long[] callerNanos = new long[NOTIFICATIONS];
+            long start = System.nanoTime();
+            for (int i = 0; i < NOTIFICATIONS; i++) {
+                Notification notification = new Notification(UUID.randomUUID(), "OUTBID",
+                        "You've been outbid on \"Vintage camera\" - new price: $125.0", UUID.randomUUID());
+                notification.setId(TimeOrderedUuid.next());
+                notification.setCreatedAt(LocalDateTime.now());
+                long before = System.nanoTime();
+                create.accept(notification);
+                callerNanos[i] = System.nanoTime() - before;
+            }
+            if (writer != null) {
+                // Drains the queue, so the clock stops when every row is committed
+                writer.shutdown();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(callerNanos);
+            long rows = jdbc.queryForObject("SELECT COUNT(*) FROM notifications", Long.class);
+            return new Result(name, rows, rows / seconds, callerNanos[NOTIFICATIONS / 2] / 1e3,
+                    callerNanos[NOTIFICATIONS * 99 / 100] / 1e3);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Direct {
+        Consumer<Notification> create(JdbcTemplate jdbc, TransactionTemplate tx);
+    }
+
+    @FunctionalInterface
+    private interface Batched {
+        NotificationWriter create(JdbcTemplate jdbc, TransactionTemplate tx);
+    }
+
+    private record Result(String name, long rows, double rowsPerSecond, double p50Micros, double p99Micros) {
+    }
+}
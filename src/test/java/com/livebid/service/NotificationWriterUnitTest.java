@@ -0,0 +1,149 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import com.livebid.notification.model.Notification;
+import com.livebid.notification.service.NotificationWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationWriterUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void testBurst_WrittenAsOneBatchAndDrainedOnShutdown() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                200, 500, 1000);
+        writer.start();
+        for (int i = 0; i < 50; i++) {
+            writer.submit(notification());
+        }
+        writer.shutdown();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 50));
+        assertEquals(50, meterRegistry.summary("livebid.notifications.batch.size").totalAmount());
+    }
+
+    @Test
+    void testFullQueue_CallerWritesItsOwnRow() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                200, 500, 1);
+        writer.start();
+        writer.shutdown();
+
+        writer.submit(notification());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1));
+        assertEquals(1, meterRegistry.counter("livebid.notifications.queue.full").count());
+    }
+
+    @Test
+    void testInsertThenUpdate_MergedIntoOneInsertWithLatestMessage() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                200, 500, 1000);
+        writer.start();
+        Notification first = notification();
+        Notification second = new Notification(first.getUserId(), "OUTBID", "Outbid again", first.getAuctionId());
+        second.setId(first.getId());
+        second.setCreatedAt(LocalDateTime.now());
+
+        writer.submit(first);
+        writer.update(second);
+        writer.shutdown();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(endsWith("DO NOTHING"),
+                argThat((List<Object[]> rows) -> rows.size() == 1 && "Outbid again".equals(rows.get(0)[3])
+                        && Timestamp.valueOf(first.getCreatedAt()).equals(rows.get(0)[6])));
+        verify(jdbcTemplate, never()).batchUpdate(contains("DO UPDATE"), anyList());
+    }
+
+    @Test
+    void testUpdateAfterInsertWritten_UpsertsMessageOnly() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                200, 500, 1000);
+        writer.start();
+        Notification first = notification();
+        writer.submit(first);
+        writer.shutdown();
+
+        Notification second = new Notification(first.getUserId(), "OUTBID", "Outbid again", first.getAuctionId());
+        second.setId(first.getId());
+        second.setCreatedAt(first.getCreatedAt());
+        writer.update(second);
+
+        // A whole row, so it also lands if the insert was dropped; an existing row only gets the message
+        verify(jdbcTemplate).batchUpdate(contains("DO UPDATE SET message = EXCLUDED.message"),
+                argThat((List<Object[]> rows) -> rows.size() == 1 && first.getId().equals(rows.get(0)[0])
+                        && "Outbid again".equals(rows.get(0)[3])));
+    }
+
+    @Test
+    void testFlushUser_WritesTheirQueuedRowsBeforeTheWindowEnds() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                2_000, 500, 1000);
+        writer.start();
+        Notification mine = notification();
+        writer.submit(mine);
+        writer.submit(notification());
+
+        writer.flush(mine.getUserId());
+
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                argThat((List<Object[]> rows) -> rows.size() == 1 && mine.getId().equals(rows.get(0)[0])));
+        writer.shutdown();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testUpdateOfReadRow_ChangesNothingAndIsHandedToListener() throws Exception {
+        NotificationWriter writer = new NotificationWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                200, 500, 1000);
+        List<Notification> alreadyRead = new ArrayList<>();
+        writer.onReadBeforeUpdate(alreadyRead::add);
+        // The row was read on another node, so the conditional upsert matches nothing
+        when(jdbcTemplate.batchUpdate(contains("DO UPDATE"), anyList())).thenReturn(new int[] { 0 });
+
+        Notification outbid = notification();
+        writer.update(outbid);
+
+        verify(jdbcTemplate).batchUpdate(endsWith("WHERE notifications.is_read = FALSE"), anyList());
+        assertEquals(List.of(outbid), alreadyRead);
+    }
+
+    private Notification notification() {
+        Notification notification = new Notification(UUID.randomUUID(), "OUTBID", "You've been outbid", UUID.randomUUID());
+        notification.setId(TimeOrderedUuid.next());
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+}
@@ -0,0 +1,102 @@
+package com.livebid.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.auction.broadcast.AuctionStreams;
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.PriceTick;
+import com.livebid.auction.broadcast.PriceTickConflator;
+import com.livebid.auction.event.BidPlacedEvent;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PriceTickConflatorUnitTest {
+
+    @Mock
+    private TopicPublisher topicPublisher;
+
+    @Mock
+    private AuctionTopicReplay replay;
+
+    @Mock
+    private AuctionStreams streams;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriceTickConflator conflator;
+    private final UUID auctionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(topicPublisher.hasAudience(any())).thenReturn(true);
+        // Long interval so only the explicit close flush sends
+        conflator = new PriceTickConflator(topicPublisher, new ObjectMapper(), replay, streams, meterRegistry, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conflator.shutdown();
+    }
+
+    @Test
+    void testBurstOfBids_SendsOnlyLatestWithSequence() {
+        for (int i = 1; i <= 5; i++) {
+            conflator.offer(bid(1000 + i * 100));
+        }
+        verify(topicPublisher, never()).publish(any(), any());
+
+        conflator.flush(auctionId);
+
+        ArgumentCaptor<PriceTick> tick = ArgumentCaptor.forClass(PriceTick.class);
+        verify(topicPublisher).publish(eq("/topic/auctions/" + auctionId), tick.capture());
+        assertEquals(1500, tick.getValue().newPrice());
+        assertEquals(5, tick.getValue().seq());
+        assertEquals(5, meterRegistry.counter("livebid.broadcast.ticks.in").count());
+        assertEquals(1, meterRegistry.counter("livebid.broadcast.frames.out").count());
+    }
+
+    @Test
+    void testLateLowerPrice_NotBroadcast() {
+        conflator.offer(bid(1200));
+        conflator.offer(bid(1100));
+        conflator.flush(auctionId);
+
+        ArgumentCaptor<PriceTick> tick = ArgumentCaptor.forClass(PriceTick.class);
+        verify(topicPublisher, times(1)).publish(any(String.class), tick.capture());
+        assertEquals(1200, tick.getValue().newPrice());
+    }
+
+    @Test
+    void testBidWithinIntervalOfEnd_SentWithoutConflation() {
+        conflator.offer(bid(1100));
+        LocalDateTime now = LocalDateTime.now();
+        conflator.offer(new BidPlacedEvent(auctionId, 1200, UUID.randomUUID(), null, UUID.randomUUID(), now,
+                now.plusSeconds(30)));
+
+        // The pending 1100 is superseded and 1200 goes out at once, ahead of the 60 s interval
+        ArgumentCaptor<PriceTick> tick = ArgumentCaptor.forClass(PriceTick.class);
+        verify(topicPublisher, times(1)).publish(eq("/topic/auctions/" + auctionId), tick.capture());
+        assertEquals(1200, tick.getValue().newPrice());
+    }
+
+    private BidPlacedEvent bid(long price) {
+        LocalDateTime now = LocalDateTime.now();
+        return new BidPlacedEvent(auctionId, price, UUID.randomUUID(), null, UUID.randomUUID(), now,
+                now.plusMinutes(10));
+    }
+}
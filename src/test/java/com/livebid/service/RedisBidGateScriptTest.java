@@ -0,0 +1,125 @@
+package com.livebid.service;
+
+import com.livebid.auction.engine.RedisBidGate;
+import com.livebid.auction.event.AuctionStartedEvent;
+import com.livebid.auction.repository.AuctionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The bid gate's Lua scripts against a real, embedded Redis.
+ */
+public class RedisBidGateScriptTest {
+
+    private static RedisServer server;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisBidGate gate;
+    private UUID auctionId;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = new RedisServer(port);
+        server.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        gate = new RedisBidGate(redisTemplate, mock(AuctionRepository.class), true);
+        auctionId = UUID.randomUUID();
+        gate.handleAuctionStarted(new AuctionStartedEvent(auctionId, 1000, LocalDateTime.now().plusMinutes(10)));
+    }
+
+    @Test
+    void testTryAdvance_ClaimsWinningBidsAndRejectsLowOnes() {
+        assertEquals(1000, gate.tryAdvance(auctionId, 1100));
+        assertEquals(1100, price());
+
+        // Below the 100 minimum increment over the claimed 1100
+        assertThrows(IllegalArgumentException.class, () -> gate.tryAdvance(auctionId, 1150));
+        assertEquals(1100, price());
+
+        gate.advance(auctionId, 2000);
+        assertEquals(2000, price());
+        gate.advance(auctionId, 1500);
+        assertEquals(2000, price());
+        assertEquals(RedisBidGate.UNCHECKED, gate.tryAdvance(UUID.randomUUID(), 5000));
+    }
+
+    @Test
+    void testRestore_InterleavedFailuresUnwindToLastLivePrice() {
+        long beforeFirst = gate.tryAdvance(auctionId, 1100);
+        long beforeSecond = gate.tryAdvance(auctionId, 1200);
+
+        // The lower bid fails first: the higher claim stays on top
+        gate.restore(auctionId, 1100, beforeFirst);
+        assertEquals(1200, price());
+        // Then the higher one: neither claim was written, so back to the committed price
+        gate.restore(auctionId, 1200, beforeSecond);
+        assertEquals(1000, price());
+        assertEquals(1000, gate.tryAdvance(auctionId, 1100));
+    }
+
+    @Test
+    void testRestore_HigherBidFailingFirstUnwindsOneClaimAtATime() {
+        long beforeFirst = gate.tryAdvance(auctionId, 1100);
+        long beforeSecond = gate.tryAdvance(auctionId, 1200);
+
+        gate.restore(auctionId, 1200, beforeSecond);
+        assertEquals(1100, price());
+        gate.restore(auctionId, 1100, beforeFirst);
+        assertEquals(1000, price());
+    }
+
+    @Test
+    void testRestore_FailedClaimUnderCommittedBidStaysBuried() {
+        long beforeFirst = gate.tryAdvance(auctionId, 1100);
+        gate.tryAdvance(auctionId, 1200);
+        long beforeThird = gate.tryAdvance(auctionId, 1300);
+
+        // 1100 fails, 1200 commits, 1300 fails: the price falls back to 1200 and no further
+        gate.restore(auctionId, 1100, beforeFirst);
+        gate.restore(auctionId, 1300, beforeThird);
+        assertEquals(1200, price());
+
+        // A reset drops failed claims, so a later rejection cannot unwind through the stale 1100 one
+        gate.reset(auctionId, 1100);
+        assertEquals(1100, price());
+        long beforeRetry = gate.tryAdvance(auctionId, 1200);
+        gate.restore(auctionId, 1200, beforeRetry);
+        assertEquals(1100, price());
+    }
+
+    private long price() {
+        Object price = redisTemplate.opsForHash().get("auction:" + auctionId + ":book", "price");
+        return Long.parseLong((String) price);
+    }
+}
@@ -0,0 +1,62 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.config.SideEffectExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SideEffectExecutorsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFullPushLane_KeepsEveryPushInOrder() throws Exception {
+        SideEffectExecutors executors = new SideEffectExecutors(meterRegistry, 1, 1, 1, 1, 1, 1);
+        UUID userId = UUID.randomUUID();
+        List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            executors.push(userId, () -> sent.add(n));
+        }
+        executors.shutdown();
+
+        assertEquals(IntStream.range(0, 200).boxed().toList(), sent);
+    }
+
+    @Test
+    void testFullBroadcastQueue_DropsOldestAndRunsNewest() throws Exception {
+        SideEffectExecutors executors = new SideEffectExecutors(meterRegistry, 1, 1, 1, 1, 1, 1);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+
+        executors.broadcast(() -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        busy.await();
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            executors.broadcast(() -> ran.add(n));
+        }
+        release.countDown();
+        executors.shutdown();
+        Thread.sleep(200);
+
+        assertEquals(List.of(2), ran);
+        assertEquals(2, meterRegistry.counter("livebid.side-effects.queue.full", "executor", "broadcast").count());
+    }
+}
@@ -0,0 +1,222 @@
+package com.livebid.service;
+
+import com.livebid.auction.broadcast.AuctionSnapshot;
+import com.livebid.auction.broadcast.AuctionStreams;
+import com.livebid.auction.broadcast.AuctionTopicReplay;
+import com.livebid.auction.broadcast.TopicReplay;
+import com.livebid.auction.model.AuctionStatus;
+import com.livebid.infrastructure.config.WebSocketConfig;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import com.livebid.infrastructure.messaging.TopicSubscriptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Server heap held per idle watcher: an SSE stream versus a STOMP session over
+ * SockJS subscribed to the same auction topic. Clients run in a separate JVM so
+ * only server-side memory is counted. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = StreamConnectionBenchmarkTest.Server.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "server.tomcat.threads.max=50", "server.tomcat.processor-cache=0" })
+public class StreamConnectionBenchmarkTest {
+
+    private static final int CONNECTIONS = 1000;
+    private static final UUID AUCTION_ID = UUID.randomUUID();
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AuctionStreams streams;
+
+    @Autowired
+    TopicSubscriptions subscriptions;
+
+    @Test
+    void compareHeapPerConnection() throws Exception {
+        String topic = "/topic/auctions/" + AUCTION_ID;
+        long sse = measure("sse", () -> streams.connections() >= CONNECTIONS,
+                () -> streams.connections() == 0);
+        long stomp = measure("stomp", () -> subscriptions.subscriberCount(topic) >= CONNECTIONS,
+                () -> !subscriptions.hasSubscribers(topic));
+
+        System.out.printf("%-6s %12s %16s%n", "path", "connections", "heap bytes/conn");
+        System.out.printf("%-6s %12d %16d%n", "sse", CONNECTIONS, sse / CONNECTIONS);
+        System.out.printf("%-6s %12d %16d%n", "stomp", CONNECTIONS, stomp / CONNECTIONS);
+        assertTrue(sse > 0 && stomp > 0);
+    }
+
+    private long measure(String mode, BooleanSupplier connected, BooleanSupplier closed) throws Exception {
+        long before = usedHeap();
+        Process clients = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                Clients.class.getName(), mode, "http://localhost:" + port, AUCTION_ID.toString(),
+                Integer.toString(CONNECTIONS))
+                .redirectErrorStream(true)
+                .start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+            while (!connected.getAsBoolean()) {
+                assertTrue(clients.isAlive(), () -> "client process exited: " + output(clients.getInputStream()));
+                assertTrue(System.nanoTime() < deadline, mode + " clients did not connect in time");
+                Thread.sleep(100);
+            }
+            return usedHeap() - before;
+        } finally {
+            clients.destroy();
+            clients.waitFor(30, TimeUnit.SECONDS);
+            // Let the server notice every disconnect before the next baseline
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (!closed.getAsBoolean() && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String output(InputStream in) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+            return String.join("\n", reader.lines().toList());
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class, SecurityAutoConfiguration.class,
+            SecurityFilterAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class,
+            ManagementWebSecurityAutoConfiguration.class })
+    @Import({ WebSocketConfig.class, TopicSubscriptions.class, TopicPublisher.class, AuctionStreams.class })
+    static class Server {
+
+        @Bean
+        AuctionTopicReplay auctionTopicReplay() {
+            AuctionTopicReplay replay = mock(AuctionTopicReplay.class);
+            AuctionSnapshot snapshot = new AuctionSnapshot(AUCTION_ID, 0, AuctionStatus.LIVE, 1000, null,
+                    LocalDateTime.now().plusHours(1));
+            when(replay.replay(any(), any())).thenReturn(new TopicReplay(AUCTION_ID, List.of(), snapshot));
+            return replay;
+        }
+
+        // Pooled channels and processors would carry one run's buffers into the next baseline
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> noConnectionPools() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("socket.bufferPool", "0"));
+        }
+
+        @Bean
+        StreamEndpoint streamEndpoint(AuctionStreams streams) {
+            return new StreamEndpoint(streams);
+        }
+    }
+
+    @RestController
+    static class StreamEndpoint {
+
+        private final AuctionStreams streams;
+
+        StreamEndpoint(AuctionStreams streams) {
+            this.streams = streams;
+        }
+
+        @GetMapping("/auctions/{id}/stream")
+        SseEmitter stream(@PathVariable UUID id) {
+            return streams.open(id, null);
+        }
+    }
+
+    /**
+     * Client side, run in its own JVM: opens idle connections and holds them until killed.
+     */
+    public static final class Clients {
+
+        public static void main(String[] args) throws Exception {
+            String mode = args[0];
+            String base = args[1];
+            UUID auctionId = UUID.fromString(args[2]);
+            int count = Integer.parseInt(args[3]);
+            List<Object> held = new ArrayList<>();
+
+            if (mode.equals("sse")) {
+                HttpClient http = HttpClient.newHttpClient();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/auctions/" + auctionId + "/stream"))
+                        .header("Accept", "text/event-stream")
+                        .build();
+                for (int i = 0; i < count; i++) {
+                    held.add(http.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+                }
+            } else {
+                WebSocketStompClient stomp = new WebSocketStompClient(
+                        new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+                for (int i = 0; i < count; i++) {
+                    StompSession session = stomp.connectAsync(base + "/ws", new StompSessionHandlerAdapter() {
+                    }).get(30, TimeUnit.SECONDS);
+                    session.subscribe("/topic/auctions/" + auctionId, new StompSessionHandlerAdapter() {
+                    });
+                    held.add(session);
+                }
+            }
+            System.out.println("connected " + held.size());
+            Thread.sleep(Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.livebid.service;
+
+import com.livebid.user.model.User;
+import com.livebid.user.repository.UserRepository;
+import com.livebid.user.service.StripedWalletService;
+import com.livebid.user.service.WalletService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StripedWalletServiceUnitTest {
+
+    private static final int USERS = 16;
+    private static final long START = 1_000_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StripedWalletService wallet;
+    private final List<UUID> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Few stripes so most pairs of users share one and some do not
+        wallet = new StripedWalletService(userRepository, jdbcTemplate, transactionTemplate, eventPublisher, 4);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setAvailableBalance(START);
+            users.add(user.getId());
+            when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        }
+    }
+
+    @Test
+    void testConcurrentReserveReleaseCapture_BalancesAddUp() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            done.add(threads.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    UUID user = users.get((i + offset) % USERS);
+                    wallet.reserve(user, 30);
+                    wallet.release(user, 10);
+                    wallet.capture(user, 20);
+                    wallet.credit(users.get((i + offset + 1) % USERS), 5);
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+        threads.shutdown();
+
+        // 8,000 rounds over 16 users: each pays 500 captures of 20 and gets 500 credits of 5
+        for (UUID user : users) {
+            assertEquals(new WalletService.Balance(START - 500 * 20 + 500 * 5, 0),
+                    wallet.pendingBalance(user).orElseThrow());
+        }
+
+        Map<UUID, long[]> flushed = flush();
+        assertEquals(USERS, flushed.size());
+        flushed.values().forEach(delta -> assertArrayEquals(new long[] { -500 * 15, 0 }, delta));
+        // Nothing is flushed twice
+        assertTrue(flush().isEmpty());
+    }
+
+    @Test
+    void testConcurrentReserveForBid_NoDeadlockAcrossStripes() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            done.add(threads.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    // Pairs in both directions, within and across stripes
+                    UUID bidder = users.get((i + offset) % USERS);
+                    UUID leader = users.get((i * 7 + offset + 1) % USERS);
+                    wallet.reserveForBid(bidder, 100, leader, 100);
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+        threads.shutdown();
+
+        long available = 0;
+        long reserved = 0;
+        for (UUID user : users) {
+            WalletService.Balance balance = wallet.pendingBalance(user).orElseThrow();
+            available += balance.availableBalance();
+            reserved += balance.reservedBalance();
+        }
+        // Each call moves 100 into one reservation and 100 out of another
+        assertEquals(START * USERS, available + reserved);
+        assertEquals(0, reserved);
+    }
+
+    @Test
+    void testReserveForBid_FailureLeavesBothBalancesUnchanged() {
+        UUID bidder = users.get(0);
+        UUID leader = users.get(1);
+        wallet.reserve(leader, 500);
+
+        assertThrows(IllegalArgumentException.class, () -> wallet.reserveForBid(bidder, START + 1, leader, 500));
+        assertEquals(new WalletService.Balance(START - 500, 500), wallet.pendingBalance(leader).orElseThrow());
+        assertTrue(wallet.pendingBalance(bidder).map(b -> b.availableBalance() == START).orElse(true));
+
+        // An unknown previous leader fails before the bidder is touched
+        UUID unknown = UUID.randomUUID();
+        when(userRepository.findById(unknown)).thenReturn(Optional.empty());
+        assertThrows(IllegalStateException.class, () -> wallet.reserveForBid(bidder, 700, unknown, 700));
+        assertTrue(wallet.pendingBalance(bidder).map(b -> b.reservedBalance() == 0).orElse(true));
+
+        wallet.reserveForBid(bidder, 700, leader, 500);
+        assertEquals(new WalletService.Balance(START - 700, 700), wallet.pendingBalance(bidder).orElseThrow());
+        assertEquals(new WalletService.Balance(START, 0), wallet.pendingBalance(leader).orElseThrow());
+    }
+
+    // Net deltas per user as written by one flush
+    private Map<UUID, long[]> flush() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        Map<UUID, long[]> flushed = new HashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> flushed.put((UUID) row[2], new long[] { (Long) row[0], (Long) row[1] }));
+            return new int[rows.size()];
+        });
+        wallet.flush();
+        return flushed;
+    }
+}
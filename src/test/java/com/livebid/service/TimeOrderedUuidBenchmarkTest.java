@@ -0,0 +1,85 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput and on-disk size of a bids-shaped table keyed by random v4
+ * ids versus {@link TimeOrderedUuid}, on a file-backed H2 database in
+ * PostgreSQL mode. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TimeOrderedUuidBenchmarkTest {
+
+    private static final int ROWS = 500_000;
+    private static final int BATCH = 500;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareInsertThroughputAndSize() throws Exception {
+        Result random = run("random", UUID::randomUUID);
+        Result ordered = run("ordered", TimeOrderedUuid::next);
+
+        System.out.printf("%-8s %12s %14s%n", "ids", "rows/s", "bytes on disk");
+        for (Result result : new Result[] { random, ordered }) {
+            System.out.printf("%-8s %12.0f %14d%n", result.name(), result.rowsPerSecond(), result.bytes());
+        }
+        assertTrue(ordered.bytes() > 0 && random.bytes() > 0);
+    }
+
+    private Result run(String name, Supplier<UUID> ids) throws Exception {
+        String url = "jdbc:h2:file:" + dir.resolve(name) + ";MODE=PostgreSQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE bids (id UUID PRIMARY KEY, auction_id UUID NOT NULL, "
+                        + "bidder_id UUID NOT NULL, amount BIGINT NOT NULL, timestamp TIMESTAMP NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+
+            UUID auctionId = UUID.randomUUID();
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bids (id, auction_id, bidder_id, amount, timestamp) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setObject(2, auctionId);
+                    insert.setObject(3, UUID.randomUUID());
+                    insert.setLong(4, ThreadLocalRandom.current().nextLong(100, 1_000_000));
+                    insert.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            try (Statement stats = connection.createStatement();
+                    ResultSet size = stats.executeQuery("SELECT DISK_SPACE_USED('BIDS')")) {
+                size.next();
+                return new Result(name, ROWS / seconds, size.getLong(1));
+            }
+        }
+    }
+
+    private record Result(String name, double rowsPerSecond, long bytes) {
+    }
+}
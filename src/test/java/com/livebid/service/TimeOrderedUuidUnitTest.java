@@ -0,0 +1,28 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.persistence.TimeOrderedUuid;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidUnitTest {
+
+    @Test
+    void testNext_IsVersion7AndStrictlyIncreasing() {
+        long before = System.currentTimeMillis();
+        UUID previous = TimeOrderedUuid.next();
+        assertEquals(7, previous.version());
+        assertEquals(2, previous.variant());
+        assertTrue(previous.getMostSignificantBits() >>> 16 >= before);
+
+        // Many ids per millisecond exercise the counter; compare as Postgres does (unsigned bytes)
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuid.next();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    "ids must increase: " + previous + " then " + next);
+            previous = next;
+        }
+    }
+}
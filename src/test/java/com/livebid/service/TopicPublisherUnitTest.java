@@ -0,0 +1,131 @@
+package com.livebid.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.livebid.infrastructure.messaging.TopicPublisher;
+import com.livebid.infrastructure.messaging.TopicSubscriptions;
+import com.livebid.infrastructure.messaging.TopicTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two nodes sharing an in-memory stand-in for Redis pub/sub.
+ */
+public class TopicPublisherUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final InMemoryTransport bus = new InMemoryTransport();
+    private SimpMessagingTemplate brokerA;
+    private SimpMessagingTemplate brokerB;
+    private TopicPublisher nodeA;
+    private TopicPublisher nodeB;
+
+    @BeforeEach
+    void setUp() {
+        brokerA = mock(SimpMessagingTemplate.class);
+        brokerB = mock(SimpMessagingTemplate.class);
+        nodeA = node(brokerA);
+        nodeB = node(brokerB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void testAuctionFrame_DeliveredLocallyAndOnOtherNode() throws Exception {
+        nodeA.publish("/topic/auctions/42", Map.of("newPrice", 1500));
+        nodeA.publish("/topic/auctions/42", Map.of("newPrice", 1600));
+
+        verify(brokerA, times(2)).convertAndSend(eq("/topic/auctions/42"), any(Object.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> relayed = ArgumentCaptor.forClass(Message.class);
+        verify(brokerB, timeout(2000).times(2)).send(eq("/topic/auctions/42"), relayed.capture());
+        String body = new String((byte[]) relayed.getAllValues().get(1).getPayload(), StandardCharsets.UTF_8);
+        assertEquals(1600, objectMapper.readTree(body).get("newPrice").asInt());
+
+        // Both frames travelled in one batch, and node A ignored its own relay
+        assertEquals(1, bus.published.size());
+        verify(brokerA, never()).send(anyString(), any());
+    }
+
+    @Test
+    void testOtherTopics_StayLocal() throws Exception {
+        nodeA.publish("/topic/system", Map.of("status", "ok"));
+        Thread.sleep(300);
+
+        assertTrue(bus.published.isEmpty());
+        verify(brokerB, never()).send(anyString(), any());
+    }
+
+    @Test
+    void testNoLocalSubscriber_SkipsLocalSendButStillRelays() {
+        nodeA.publish("/topic/auctions/7", Map.of("newPrice", 900));
+
+        verify(brokerA, never()).convertAndSend(anyString(), any(Object.class));
+        assertTrue(nodeA.hasAudience("/topic/auctions/7"));
+        verify(brokerB, timeout(2000)).send(eq("/topic/auctions/7"), any());
+    }
+
+    private TopicPublisher node(SimpMessagingTemplate broker) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("transport", bus);
+        TopicSubscriptions subscriptions = new TopicSubscriptions(new SimpleMeterRegistry());
+        for (String destination : List.of("/topic/auctions/42", "/topic/auctions/7", "/topic/system")) {
+            if (broker == brokerB || !destination.endsWith("/7")) {
+                subscriptions.afterSendCompletion(subscribe(destination), null, true, null);
+            }
+        }
+        return new TopicPublisher(broker, objectMapper, subscriptions,
+                beans.getBeanProvider(TopicTransport.class), 200, 500);
+    }
+
+    static Message<byte[]> subscribe(String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        headers.setSessionId("session-1");
+        headers.setSubscriptionId(destination);
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private static final class InMemoryTransport implements TopicTransport {
+
+        final List<String> published = new CopyOnWriteArrayList<>();
+        private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+        @Override
+        public void publish(String channel, String message) {
+            published.add(message);
+            subscribers.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+}
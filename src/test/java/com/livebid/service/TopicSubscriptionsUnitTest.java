@@ -0,0 +1,45 @@
+package com.livebid.service;
+
+import com.livebid.infrastructure.messaging.TopicSubscriptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopicSubscriptionsUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TopicSubscriptions subscriptions = new TopicSubscriptions(meterRegistry);
+
+    @Test
+    void testCountsFollowSubscribeUnsubscribeAndDisconnect() {
+        send(SimpMessageType.SUBSCRIBE, "a", "sub-0", "/topic/auctions/1");
+        send(SimpMessageType.SUBSCRIBE, "b", "sub-0", "/topic/auctions/1");
+        send(SimpMessageType.SUBSCRIBE, "b", "sub-1", "/topic/users/9");
+        assertTrue(subscriptions.hasSubscribers("/topic/auctions/1"));
+        assertEquals(2, meterRegistry.get("livebid.websocket.subscribed-destinations").gauge().value());
+
+        send(SimpMessageType.UNSUBSCRIBE, "a", "sub-0", null);
+        assertTrue(subscriptions.hasSubscribers("/topic/auctions/1"));
+
+        // Session close sends DISCONNECT even after the client sent its own
+        send(SimpMessageType.DISCONNECT, "b", null, null);
+        send(SimpMessageType.DISCONNECT, "b", null, null);
+        assertFalse(subscriptions.hasSubscribers("/topic/auctions/1"));
+        assertFalse(subscriptions.hasSubscribers("/topic/users/9"));
+        assertEquals(0, meterRegistry.get("livebid.websocket.subscribed-destinations").gauge().value());
+    }
+
+    private void send(SimpMessageType type, String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(type);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        subscriptions.afterSendCompletion(message, null, true, null);
+    }
+}